@@ -9,13 +9,32 @@
  */
 package officelove;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import kiss.I;
+import kiss.WiseConsumer;
 import psychopath.Directory;
 import psychopath.File;
 import psychopath.Locator;
@@ -28,8 +47,33 @@ public class LibreOffice {
     /** The path to executable office command. */
     private static String soffice;
 
-    /** The program cache. */
-    private static boolean cached;
+    /** The timeout of each job in milliseconds. */
+    private static volatile long timeout = TimeUnit.MINUTES.toMillis(3);
+
+    /** The permits to run worker. */
+    private static volatile Semaphore permits = new Semaphore(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    /** The idle workers. */
+    private static final Queue<Worker> idles = new ConcurrentLinkedQueue();
+
+    /** The maximum number of files in one launch. */
+    private static final int CHUNK = 32;
+
+    /** The coalescing window of the asynchronous conversions in milliseconds. */
+    private static final long WINDOW = 200;
+
+    /** The pending asynchronous conversions. */
+    private static final List<Job> pendings = new ArrayList();
+
+    /** The scratch area for the intermediate files, it is backed by RAM if possible. */
+    private static final Directory scratch = scratch();
+
+    /** The scheduler for asynchronous conversions. */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "LibreOffice Conversion Scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Get the location of LibreOffice.
@@ -38,6 +82,25 @@ public class LibreOffice {
         return soffice;
     }
 
+    /**
+     * Configure the worker pool.
+     * 
+     * @param size The maximum number of concurrent LibreOffice processes.
+     * @param timeout The timeout of each job.
+     */
+    public static void configure(int size, Duration timeout) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive.");
+        }
+
+        LibreOffice.permits = new Semaphore(size);
+        LibreOffice.timeout = timeout.toMillis();
+    }
+
     /**
      * Convert file.
      * 
@@ -45,12 +108,136 @@ public class LibreOffice {
      * @param output
      */
     public static void convert(File input, File output) {
-        String inputFilePath = input.absolutize().toString();
-        Directory outputDirectory = output.absolutize().parent();
+        Job job = new Job(input, output);
+        convert(List.of(job));
+        job.result();
+    }
 
-        execute("--convert-to", output.extension(), "--outdir", outputDirectory.toString(), inputFilePath);
+    /**
+     * Convert all files into the specified directory. Many files are converted by one launch of
+     * LibreOffice, and the launches run concurrently on the worker pool.
+     * 
+     * @param inputs The source files.
+     * @param output The output directory.
+     * @param format The output format (e.g. pdf).
+     * @return The converted files in the same order as inputs.
+     * @throws IllegalArgumentException If some inputs have the same base name, because their
+     *             outputs would overwrite each other.
+     */
+    public static List<File> convertAll(List<File> inputs, Directory output, String format) {
+        List<Job> jobs = new ArrayList();
+        Set<String> names = new HashSet();
+        for (File input : inputs) {
+            String name = input.base() + "." + format;
+
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Multiple inputs are converted into the same file [" + output
+                        .file(name) + "], please rename them.");
+            }
+            jobs.add(new Job(input, output.file(name)));
+        }
+        convert(jobs);
+
+        List<File> outputs = new ArrayList();
+        for (Job job : jobs) {
+            outputs.add(job.result());
+        }
+        return outputs;
+    }
+
+    /**
+     * Convert file asynchronously. The conversions requested within a short window are coalesced
+     * into the batch launches.
+     * 
+     * @param input
+     * @param output
+     * @return The converted file.
+     */
+    public static CompletableFuture<File> convertLater(File input, File output) {
+        Job job = new Job(input, output);
+
+        synchronized (pendings) {
+            pendings.add(job);
 
-        outputDirectory.file(input.base()).extension(output.extension()).moveTo(output);
+            if (pendings.size() == 1) {
+                scheduler.schedule(() -> {
+                    List<Job> jobs;
+                    synchronized (pendings) {
+                        jobs = new ArrayList(pendings);
+                        pendings.clear();
+                    }
+                    Thread.startVirtualThread(() -> convert(jobs));
+                }, WINDOW, TimeUnit.MILLISECONDS);
+            }
+        }
+        return job.future;
+    }
+
+    /**
+     * Convert files by the chunked launches. Each chunk has the same output format and never
+     * contains the same base name twice, because LibreOffice names the output file by it.
+     * 
+     * @param jobs
+     */
+    private static void convert(List<Job> jobs) {
+        List<Chunk> chunks = new ArrayList();
+
+        job: for (Job job : jobs) {
+            for (Chunk chunk : chunks) {
+                if (chunk.accept(job)) {
+                    continue job;
+                }
+            }
+
+            Chunk chunk = new Chunk(job.format);
+            chunk.accept(job);
+            chunks.add(chunk);
+        }
+
+        if (chunks.size() == 1) {
+            chunks.get(0).convert();
+        } else {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Chunk chunk : chunks) {
+                    executor.execute(chunk::convert);
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert the streamed document. The intermediate files are placed in the RAM-backed scratch
+     * area when it is available.
+     * 
+     * @param input The writer of source document.
+     * @param extension The extension of source document (e.g. docx).
+     * @param output The destination of converted document.
+     * @param format The output format (e.g. pdf).
+     */
+    public static void convert(WiseConsumer<OutputStream> input, String extension, OutputStream output, String format) {
+        execute(worker -> {
+            File source = worker.input.file("document." + extension);
+            File converted = worker.output.file("document." + format);
+
+            try {
+                try (OutputStream stream = source.newOutputStream()) {
+                    input.accept(stream);
+                }
+
+                worker.run("--convert-to", format, "--outdir", worker.output.toString(), source.toString());
+
+                if (converted.isAbsent()) {
+                    throw new IOException("Fail to convert the streamed document.");
+                }
+
+                try (InputStream stream = converted.newInputStream()) {
+                    stream.transferTo(output);
+                }
+            } finally {
+                source.delete();
+                converted.delete();
+            }
+        });
     }
 
     /**
@@ -59,7 +246,7 @@ public class LibreOffice {
      * @param input
      */
     public static void print(File input) {
-        execute("-p", input.absolutize().toString());
+        execute(worker -> worker.run("-p", input.absolutize().toString()));
     }
 
     /**
@@ -72,51 +259,281 @@ public class LibreOffice {
         if (printer == null) {
             print(input);
         } else {
-            execute("--pt", printer, input.absolutize().toString());
+            execute(worker -> worker.run("--pt", printer, input.absolutize().toString()));
         }
     }
 
     /**
-     * Execute the libereoffice command.
+     * Execute the job on the idle worker.
      * 
-     * @param commands
+     * @param job
      */
-    private static synchronized void execute(String... commands) {
+    private static void execute(WiseConsumer<Worker> job) {
         search();
+        pool(job);
+    }
 
-        List<String> command = new ArrayList();
-        command.add(soffice.toString());
-        command.add("--nolockcheck");
-        command.add("--nologo");
-        command.add("--headless");
-        command.add("--norestore");
-        command.add("--nofirststartwizard");
-        command.addAll(Arrays.asList(commands));
+    /**
+     * Execute the job on the pooled worker.
+     * 
+     * @param job
+     */
+    static void pool(WiseConsumer<Worker> job) {
+        Semaphore permits = LibreOffice.permits;
+        permits.acquireUninterruptibly();
 
+        Worker worker = idles.poll();
         try {
-            ProcessBuilder builder = new ProcessBuilder(command);
-            builder.redirectError();
-            builder.redirectOutput();
-            builder.start().waitFor();
-
-            // There is a reason why Quick Start mode is not activated before the first run of
-            // Libereoffice. If another task (e.g., converting to PDF) is executed immediately after
-            // Quick Start mode is launched, the task's exit signal will be notified first and all
-            // processes will be forced to terminate. So we avoid this by running the quick start
-            // mode after the task is finished.
-            if (cached == false) {
-                cached = true;
-                new ProcessBuilder(soffice, "--quickstart").start().waitFor(250, TimeUnit.MILLISECONDS);
+            if (worker == null) {
+                worker = new Worker();
+            }
+            job.accept(worker);
+        } finally {
+            if (worker != null) {
+                idles.offer(worker);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Conversion request.
+     */
+    private static class Job {
+
+        /** The source file. */
+        private final File input;
+
+        /** The output file. */
+        private final File output;
+
+        /** The output format. */
+        private final String format;
+
+        /** The result. */
+        private final CompletableFuture<File> future = new CompletableFuture();
+
+        /**
+         * @param input
+         * @param output
+         */
+        private Job(File input, File output) {
+            this.input = input.absolutize();
+            this.output = output.absolutize();
+            this.format = output.extension();
+        }
+
+        /**
+         * Wait for the converted file.
+         * 
+         * @return
+         */
+        private File result() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw I.quiet(e.getCause());
             }
-        } catch (Exception e) {
-            throw I.quiet(e);
         }
     }
 
+    /**
+     * The set of jobs which is converted by one launch.
+     */
+    private static class Chunk {
+
+        /** The output format. */
+        private final String format;
+
+        /** The jobs. */
+        private final List<Job> jobs = new ArrayList();
+
+        /** The base names of jobs. */
+        private final Set<String> names = new HashSet();
+
+        /**
+         * @param format
+         */
+        private Chunk(String format) {
+            this.format = format;
+        }
+
+        /**
+         * Accept the job if possible.
+         * 
+         * @param job
+         * @return
+         */
+        private boolean accept(Job job) {
+            if (jobs.size() < CHUNK && format.equals(job.format) && names.add(job.input.base())) {
+                jobs.add(job);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Convert all jobs and complete each result.
+         */
+        private void convert() {
+            try {
+                execute(worker -> {
+                    List<String> command = new ArrayList();
+                    command.add("--convert-to");
+                    command.add(format);
+                    command.add("--outdir");
+                    command.add(worker.output.toString());
+
+                    for (Job job : jobs) {
+                        worker.output.file(job.input.base()).extension(format).delete();
+                        command.add(job.input.toString());
+                    }
+
+                    try {
+                        worker.run(command.toArray(String[]::new));
+
+                        for (Job job : jobs) {
+                            File converted = worker.output.file(job.input.base()).extension(format);
+
+                            if (converted.isAbsent()) {
+                                job.future.completeExceptionally(new IOException("Fail to convert " + job.input));
+                            } else {
+                                converted.moveTo(job.output);
+                                job.future.complete(job.output);
+                            }
+                        }
+                    } finally {
+                        // the scratch area may be backed by RAM, so the leftovers of the failed
+                        // launch must not be kept until shutdown
+                        for (Job job : jobs) {
+                            worker.output.file(job.input.base()).extension(format).delete();
+                        }
+                    }
+                });
+            } catch (Throwable e) {
+                for (Job job : jobs) {
+                    job.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * LibreOffice process slot which owns the dedicated user profile and output directory. The
+     * profile is initialized on the first launch and reused by the following jobs, and the separated
+     * profiles allow the workers to run concurrently.
+     */
+    static class Worker {
+
+        /** The user profile. */
+        private final Directory profile = Locator.temporaryDirectory();
+
+        /** The input directory. */
+        private final Directory input = scratch.directory(UUID.randomUUID() + "/input");
+
+        /** The output directory. */
+        private final Directory output = scratch.directory(UUID.randomUUID() + "/output");
+
+        /**
+         * Execute the libereoffice command.
+         * 
+         * @param commands
+         */
+        private void run(String... commands) {
+            List<String> command = new ArrayList();
+            command.add(soffice);
+            command.add("-env:UserInstallation=" + profile.asJavaPath().toUri());
+            command.add("--nolockcheck");
+            command.add("--nologo");
+            command.add("--headless");
+            command.add("--norestore");
+            command.add("--nofirststartwizard");
+            command.addAll(Arrays.asList(commands));
+
+            try {
+                launch(command, timeout);
+            } catch (Throwable e) {
+                // the process tree is already terminated, so the profile is not used anymore
+                reset();
+                throw I.quiet(e);
+            }
+        }
+
+        /**
+         * Discard the broken user profile, it will be recreated by the next launch.
+         */
+        private void reset() {
+            profile.delete();
+        }
+    }
+
+    /**
+     * Launch the process and wait for it. When it doesn't respond in time or fails, the whole
+     * process tree is terminated before returning, because the launcher leaves the actual office
+     * process (soffice.bin) which still holds the user profile.
+     * 
+     * @param command A command line.
+     * @param timeout A timeout in milliseconds.
+     */
+    static void launch(List<String> command, long timeout) throws Exception {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectError(Redirect.DISCARD);
+        builder.redirectOutput(Redirect.DISCARD);
+        Process process = builder.start();
+
+        if (!process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+            kill(process);
+            throw new IOException("LibreOffice doesn't respond in " + timeout + "ms. " + command);
+        }
+
+        if (process.exitValue() != 0) {
+            kill(process);
+            throw new IOException("LibreOffice exits with code " + process.exitValue() + ". " + command);
+        }
+    }
+
+    /**
+     * Terminate the specified process and all its descendants, and wait for them.
+     * 
+     * @param process A target process.
+     */
+    static void kill(Process process) throws InterruptedException {
+        List<ProcessHandle> descendants = process.descendants().toList();
+
+        for (ProcessHandle descendant : descendants) {
+            descendant.destroyForcibly();
+        }
+        process.destroyForcibly().waitFor();
+
+        for (ProcessHandle descendant : descendants) {
+            try {
+                descendant.onExit().get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * Locate the scratch area.
+     * 
+     * @return
+     */
+    private static Directory scratch() {
+        java.io.File shm = new java.io.File("/dev/shm");
+
+        if (shm.isDirectory() && shm.canWrite()) {
+            Directory directory = Locator.directory(shm.getPath() + "/officelove-" + ProcessHandle.current().pid());
+            Runtime.getRuntime().addShutdownHook(new Thread(directory::delete));
+            return directory;
+        }
+        return Locator.temporaryDirectory();
+    }
+
     /**
      * Search libreoffice application.
      */
-    private static void search() {
+    private static synchronized void search() {
         if (initialized == false) {
             initialized = true;
 
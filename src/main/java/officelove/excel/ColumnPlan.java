@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+
+import kiss.I;
+import kiss.Model;
+import kiss.Property;
+import officelove.excel.Excel.RowReader;
+
+/**
+ * Column plan which decodes the row into the record or bean. The header is resolved only once, so
+ * each row is decoded by the pre-resolved column indexes and typed decoders.
+ */
+final class ColumnPlan<T> {
+
+    /** The uniform constructor type. */
+    private static final MethodType CREATOR = MethodType.methodType(Object.class, Object[].class);
+
+    /** The target type. */
+    private final Class<T> type;
+
+    /** The source column of each slot, or -1 when the header doesn't have it. */
+    private final int[] columns;
+
+    /** The typed decoder of each slot. */
+    private final Decoder[] decoders;
+
+    /** The canonical constructor for record, or null for bean. */
+    private final MethodHandle creator;
+
+    /** The bean model, or null for record. */
+    private final Model<T> model;
+
+    /** The bean properties, or null for record. */
+    private final Property[] properties;
+
+    /**
+     * Compile the plan.
+     * 
+     * @param type A target type.
+     * @param header A header mapping.
+     */
+    ColumnPlan(Class<T> type, Map<String, Integer> header) {
+        this.type = type;
+
+        try {
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class[] types = new Class[components.length];
+
+                this.columns = new int[components.length];
+                this.decoders = new Decoder[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    types[i] = components[i].getType();
+                    columns[i] = header.getOrDefault(components[i].getName(), -1);
+                    decoders[i] = decoder(types[i]);
+                }
+
+                Constructor<T> constructor = type.getDeclaredConstructor(types);
+                constructor.setAccessible(true);
+
+                this.creator = MethodHandles.lookup()
+                        .unreflectConstructor(constructor)
+                        .asSpreader(Object[].class, types.length)
+                        .asType(CREATOR);
+                this.model = null;
+                this.properties = null;
+            } else {
+                List<Integer> indexes = new ArrayList();
+                List<Property> list = new ArrayList();
+
+                this.model = Model.of(type);
+                for (Entry<String, Integer> entry : header.entrySet()) {
+                    Property property = model.property(entry.getKey());
+
+                    if (property != null) {
+                        indexes.add(entry.getValue());
+                        list.add(property);
+                    }
+                }
+
+                this.properties = list.toArray(Property[]::new);
+                this.columns = new int[properties.length];
+                this.decoders = new Decoder[properties.length];
+                for (int i = 0; i < properties.length; i++) {
+                    columns[i] = indexes.get(i);
+                    decoders[i] = decoder(properties[i].model.type);
+                }
+                this.creator = null;
+            }
+        } catch (Throwable e) {
+            throw I.quiet(e);
+        }
+
+        // all rows are skipped silently without the planned column
+        boolean matched = false;
+        for (int column : columns) {
+            matched |= column != -1;
+        }
+
+        if (!matched) {
+            throw new IllegalArgumentException("No header matches the record component or property of " + type
+                    .getName() + ", please specify the valid type.");
+        }
+    }
+
+    /**
+     * Decode the row.
+     * 
+     * @param row A target row.
+     * @return A decoded value, or null when the row has no value in the planned columns.
+     */
+    T decode(XSSFRow row) {
+        if (row == null || blank(row)) {
+            return null;
+        }
+
+        try {
+            if (creator != null) {
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = decoders[i].decode(columns[i] == -1 ? null : row.getCell(columns[i]));
+                }
+                Object created = creator.invokeExact(values);
+                return (T) created;
+            } else {
+                T bean = I.make(type);
+                for (int i = 0; i < columns.length; i++) {
+                    model.set(bean, properties[i], decoders[i].decode(row.getCell(columns[i])));
+                }
+                return bean;
+            }
+        } catch (Throwable e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Check whether all planned columns are blank or not.
+     * 
+     * @param row A target row.
+     * @return A result.
+     */
+    private boolean blank(XSSFRow row) {
+        for (int column : columns) {
+            if (column != -1) {
+                XSSFCell cell = row.getCell(column);
+
+                if (cell != null && cell.getCellType() != CellType.BLANK && !(cell.getCellType() == CellType.STRING && cell
+                        .getStringCellValue()
+                        .isBlank())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Select the decoder for the specified type. The numeric and text cells of the frequent types
+     * are decoded directly, the others are decoded by the generic conversion.
+     * 
+     * @param type A target type.
+     * @return A decoder.
+     */
+    private static Decoder decoder(Class type) {
+        if (type == int.class || type == Integer.class) {
+            return cell -> numeric(cell) ? Integer.valueOf((int) cell.getNumericCellValue()) : RowReader.value(cell, type);
+        }
+
+        if (type == long.class || type == Long.class) {
+            return cell -> numeric(cell) ? Long.valueOf((long) cell.getNumericCellValue()) : RowReader.value(cell, type);
+        }
+
+        if (type == double.class || type == Double.class) {
+            return cell -> numeric(cell) ? Double.valueOf(cell.getNumericCellValue()) : RowReader.value(cell, type);
+        }
+
+        if (type == String.class) {
+            return cell -> cell != null && cell.getCellType() == CellType.STRING ? cell.getStringCellValue() : RowReader.value(cell, type);
+        }
+        return cell -> RowReader.value(cell, type);
+    }
+
+    /**
+     * Check whether the specified cell has the numeric value.
+     * 
+     * @param cell A target cell.
+     * @return A result.
+     */
+    private static boolean numeric(XSSFCell cell) {
+        return cell != null && cell.getCellType() == CellType.NUMERIC;
+    }
+
+    /**
+     * Typed cell decoder.
+     */
+    private interface Decoder {
+
+        /**
+         * Decode the cell.
+         * 
+         * @param cell A target cell, or null.
+         * @return A decoded value.
+         */
+        Object decode(XSSFCell cell);
+    }
+}
\ No newline at end of file
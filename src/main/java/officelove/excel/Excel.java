@@ -11,20 +11,29 @@ package officelove.excel;
 
 import java.awt.Desktop;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.text.Normalizer;
 import java.text.Normalizer.Form;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -33,17 +42,21 @@ import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTPhoneticRun;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
 
 import kiss.Disposable;
 import kiss.I;
@@ -51,6 +64,7 @@ import kiss.Model;
 import kiss.Property;
 import kiss.Signal;
 import kiss.WiseBiConsumer;
+import kiss.WiseConsumer;
 import kiss.WiseSupplier;
 import officelove.LibreOffice;
 import officelove.expression.Parser;
@@ -63,6 +77,9 @@ public class Excel {
         I.load(LibreOffice.class);
     }
 
+    /** The default size of the row-access window for the streaming writer. */
+    private static final int WINDOW = 100;
+
     /** The actual file path. */
     public final File file;
 
@@ -78,6 +95,21 @@ public class Excel {
     /** The date cell style. */
     private final CellStyle dateStyle;
 
+    /** The number of header columns, or -1 when it is not computed yet. */
+    private int headerSize = -1;
+
+    /** The append cursor, all rows before it are already occupied. */
+    int nextRow = 1;
+
+    /** The compiled binders by model type and header, the header is held by identity. */
+    private final Map<Class, Map<Map<String, Integer>, Binder>> binders = new HashMap();
+
+    /** The assigned rows by model. */
+    private final Map<Object, Row> rows = new HashMap();
+
+    /** The name-index header map, or null when it is not computed yet. */
+    private Map<String, Integer> header;
+
     /**
      * Create empty {@link Excel}.
      */
@@ -112,6 +144,7 @@ public class Excel {
     private Excel(File file, String name, WiseSupplier<XSSFWorkbook> bookSupplier) {
         this.file = file;
         this.book = bookSupplier.get();
+        Phonetics.refresh();
 
         this.sheet = book.getNumberOfSheets() == 0 ? book.createSheet() : book.getSheetAt(name == null ? 0 : book.getSheetIndex(name));
         this.baseStyle = book.createCellStyle();
@@ -255,7 +288,7 @@ public class Excel {
     public <M> Excel write(Signal<M> models, BiConsumer<M, Row> operation) {
         update(models, items -> {
             items.to(model -> {
-                operation.accept(model, Row.rows.computeIfAbsent(model, key -> {
+                operation.accept(model, rows.computeIfAbsent(model, key -> {
                     return new Row(findFirstBlankRow());
                 }));
             });
@@ -263,6 +296,35 @@ public class Excel {
         return this;
     }
 
+    /**
+     * 指定のモデルに対応する行への操作を記述します。新しいモデルには連続した空行をまとめて割り当てます。
+     * 
+     * @param models
+     * @param operation
+     * @return
+     */
+    public <M> Excel writeAll(Signal<M> models, BiConsumer<M, Row> operation) {
+        update(models.toList(), items -> {
+            // reserve the contiguous block for the unknown models
+            Set<M> unknowns = new LinkedHashSet();
+            for (M item : items) {
+                if (!rows.containsKey(item)) {
+                    unknowns.add(item);
+                }
+            }
+
+            int index = reserve(unknowns.size());
+            for (M item : unknowns) {
+                rows.put(item, new Row(prepareRow(index++)));
+            }
+
+            for (M item : items) {
+                operation.accept(item, rows.get(item));
+            }
+        });
+        return this;
+    }
+
     /**
      * 指定のモデルに対応する行を更新します。
      * 
@@ -282,23 +344,27 @@ public class Excel {
     public Excel update(List models) {
         return update(models, items -> {
             for (Object item : items) {
-                Row row = Row.rows.get(item);
+                Row row = rows.get(item);
 
                 if (row != null) {
-                    Model model = Model.of(item);
-
-                    for (Entry<String, Integer> entry : row.header().entrySet()) {
-                        Property property = model.property(entry.getKey());
-
-                        if (property != null) {
-                            row.write(entry.getValue(), model.get(item, property));
-                        }
-                    }
+                    binder(item, row.header()).bind(item, row);
                 }
             }
         });
     }
 
+    /**
+     * Find the compiled binder for the specified model and header.
+     * 
+     * @param item A model.
+     * @param header A header of the target sheet.
+     * @return A compiled binder.
+     */
+    Binder binder(Object item, Map<String, Integer> header) {
+        return binders.computeIfAbsent(item.getClass(), type -> new IdentityHashMap())
+                .computeIfAbsent(header, key -> new Binder(Model.of(item), key));
+    }
+
     /**
      * @param models
      * @param operation
@@ -324,62 +390,141 @@ public class Excel {
         return this;
     }
 
+    /**
+     * Find the first blank row after the append cursor and claim it.
+     * 
+     * @return
+     */
     private XSSFRow findFirstBlankRow() {
-        XSSFRow head = sheet.getRow(0);
+        return prepareRow(reserve(1));
+    }
 
-        // compute head size
-        int headerSize = 0;
+    /**
+     * Find the contiguous block of blank rows after the append cursor.
+     * 
+     * @param size The number of required rows.
+     * @return The first row index of the reserved block.
+     */
+    private int reserve(int size) {
+        int start = nextRow;
+        int firstBlank = -1;
+
+        for (int i = start; i < start + size; i++) {
+            if (!isBlankRow(sheet.getRow(i))) {
+                start = i + 1;
+            } else if (firstBlank == -1) {
+                firstBlank = i;
+            }
+        }
 
-        if (head != null) {
-            for (; headerSize < head.getLastCellNum(); headerSize++) {
-                Cell cell = head.getCell(headerSize);
+        // all rows before the first blank row are occupied, the blank rows which are too short for
+        // this block are left to the later reservation
+        if (firstBlank != -1) {
+            nextRow = firstBlank == start ? start + size : firstBlank;
+        }
+        return start;
+    }
 
-                if (cell == null || cell.getCellType() == CellType.BLANK) {
-                    headerSize--;
-                    break;
+    /**
+     * Check whether the specified row has no value in the header columns.
+     * 
+     * @param row
+     * @return
+     */
+    private boolean isBlankRow(XSSFRow row) {
+        if (row != null) {
+            for (int i = 0, size = headerSize(); i < size; i++) {
+                XSSFCell cell = row.getCell(i);
+
+                if (cell != null && cell.getCellType() != CellType.BLANK) {
+                    return false;
                 }
             }
         }
+        return true;
+    }
 
-        row: for (int i = 1; i < sheet.getLastRowNum(); i++) {
-            XSSFRow row = sheet.getRow(i);
+    /**
+     * Prepare the styled cells at the specified row.
+     * 
+     * @param index
+     * @return
+     */
+    private XSSFRow prepareRow(int index) {
+        XSSFRow row = sheet.getRow(index);
 
-            if (row == null) {
-                row = sheet.createRow(i);
-                row.setHeightInPoints(30f);
+        if (row == null) {
+            row = sheet.createRow(index);
+            row.setHeightInPoints(30f);
+        }
+
+        for (int i = 0, size = headerSize(); i < size; i++) {
+            if (row.getCell(i) == null) {
+                row.createCell(i).setCellStyle(baseStyle);
             }
+        }
+        return row;
+    }
 
-            for (int j = 0; j < headerSize; j++) {
-                XSSFCell cell = row.getCell(j);
+    /**
+     * Create name-index header map.
+     * 
+     * @return
+     */
+    private Map<String, Integer> header() {
+        if (header == null) {
+            Map<String, Integer> map = new HashMap();
+            XSSFRow head = sheet.getRow(0);
 
-                if (cell == null) {
-                    XSSFCell created = row.createCell(j);
-                    created.setCellStyle(baseStyle);
-                } else if (cell.getCellType() != CellType.BLANK) {
-                    continue row;
+            if (head != null) {
+                for (int i = 0; i < head.getLastCellNum(); i++) {
+                    XSSFCell cell = head.getCell(i);
+
+                    if (cell != null) {
+                        map.put(normalize(Row.value(cell, String.class)), cell.getColumnIndex());
+                    }
                 }
             }
-            return row;
+            header = map;
         }
+        return header;
+    }
 
-        XSSFRow row = sheet.getRow(sheet.getLastRowNum());
+    /**
+     * Discard the computed header information. Call this method after the header row is modified.
+     * 
+     * @return Chainable API.
+     */
+    public Excel refreshHeader() {
+        header = null;
+        headerSize = -1;
+        binders.clear();
 
-        if (row == null) {
-            int last = sheet.getPhysicalNumberOfRows();
-            System.out.println(last);
-            row = sheet.createRow(last);
-            row.setHeightInPoints(30f);
-        }
+        return this;
+    }
+
+    /**
+     * Compute the number of header columns.
+     * 
+     * @return
+     */
+    private int headerSize() {
+        if (headerSize == -1) {
+            XSSFRow head = sheet.getRow(0);
+            int size = 0;
 
-        for (int j = 0; j < headerSize; j++) {
-            XSSFCell cell = row.getCell(j);
+            if (head != null) {
+                for (; size < head.getLastCellNum(); size++) {
+                    Cell cell = head.getCell(size);
 
-            if (cell == null) {
-                XSSFCell created = row.createCell(j);
-                created.setCellStyle(baseStyle);
+                    if (cell == null || cell.getCellType() == CellType.BLANK) {
+                        break;
+                    }
+                }
             }
+            headerSize = size;
         }
-        return row;
+        return headerSize;
     }
 
     public Excel calculate(Object model) {
@@ -477,10 +622,6 @@ public class Excel {
      */
     public class Row {
 
-        private static final Map<Object, Row> rows = new HashMap();
-
-        private static final Map<XSSFSheet, Map<String, Integer>> nameToIndex = new HashMap();
-
         /** The actual row. */
         private final XSSFRow row;
 
@@ -540,19 +681,21 @@ public class Excel {
         }
 
         public void write(int columnIndex, Object value) {
+            writeAny(cell(columnIndex), value);
+        }
+
+        /**
+         * Retrieve the cell at the specified index, create it if needed.
+         * 
+         * @param columnIndex
+         * @return
+         */
+        private XSSFCell cell(int columnIndex) {
             XSSFCell cell = row.getCell(columnIndex);
             if (cell == null) {
                 cell = row.createCell(columnIndex);
             }
-
-            if (value instanceof LocalDate) {
-                cell.setCellValue(Date.from(((LocalDate) value).atTime(0, 0).toInstant(ZoneOffset.UTC)));
-                cell.setCellStyle(dateStyle);
-            } else if (value instanceof Integer) {
-                cell.setCellValue(((Integer) value).doubleValue());
-            } else {
-                cell.setCellValue(String.valueOf(value));
-            }
+            return cell;
         }
 
         /**
@@ -561,22 +704,7 @@ public class Excel {
          * @return
          */
         private Map<String, Integer> header() {
-            return nameToIndex.computeIfAbsent(row.getSheet(), key -> {
-                HashMap<String, Integer> map = new HashMap();
-                XSSFRow header = row.getSheet().getRow(0);
-
-                for (int i = 0; i < header.getLastCellNum(); i++) {
-                    XSSFCell cell = header.getCell(i);
-
-                    if (cell != null) {
-                        Integer columnIndex = cell.getColumnIndex();
-                        String normalized = normalize(value(cell, String.class));
-
-                        map.put(normalized, columnIndex);
-                    }
-                }
-                return map;
-            });
+            return Excel.this.header();
         }
 
         /**
@@ -586,7 +714,7 @@ public class Excel {
          * @return A cell index.
          */
         private int indexOf(String name, boolean ignore404) {
-            int index = header().get(normalize(name));
+            int index = header().getOrDefault(normalize(name), -1);
 
             if (index == -1) {
                 if (ignore404) {
@@ -653,14 +781,11 @@ public class Excel {
             int columnIndex = cell.getColumnIndex();
 
             XSSFSheet sheet = cell.getSheet();
-            int size = sheet.getNumMergedRegions();
-
-            for (int i = 0; i < size; i++) {
-                CellRangeAddress range = sheet.getMergedRegion(i);
+            CellRangeAddress range = MergedRegions.find(sheet, rowIndex, columnIndex);
 
-                if (range.isInRange(rowIndex, columnIndex)) {
-                    return value(sheet.getRow(range.getFirstRow()).getCell(range.getFirstColumn()), modelClass);
-                }
+            // the top-left cell holds the value of merged region
+            if (range != null && (range.getFirstRow() != rowIndex || range.getFirstColumn() != columnIndex)) {
+                return value(sheet.getRow(range.getFirstRow()).getCell(range.getFirstColumn()), modelClass);
             }
             return initial(modelClass);
         }
@@ -676,7 +801,7 @@ public class Excel {
         private static <M> M string(XSSFCell cell, String value, Class<M> modelClass) {
             M model = I.transform(value, modelClass);
 
-            PhoneticAware aware = I.find(PhoneticAware.class, modelClass);
+            PhoneticAware aware = Phonetics.find(modelClass);
 
             if (aware != null) {
                 aware.setPhonetic(model, ruby(cell));
@@ -778,14 +903,172 @@ public class Excel {
          * @return
          */
         private static String ruby(XSSFCell cell) {
-            StringBuilder builder = new StringBuilder();
+            CTRst text = cell.getRichStringCellValue().getCTRst();
 
-            cell.getRichStringCellValue().getCTRst();
+            switch (text.sizeOfRPhArray()) {
+            case 0:
+                return "";
 
-            for (CTPhoneticRun run : cell.getRichStringCellValue().getCTRst().getRPhArray()) {
-                builder.append(run.getT());
+            case 1:
+                return text.getRPhArray(0).getT();
+
+            default:
+                StringBuilder builder = new StringBuilder();
+                for (CTPhoneticRun run : text.getRPhArray()) {
+                    builder.append(run.getT());
+                }
+                return builder.toString();
+            }
+        }
+    }
+
+    /**
+     * Write the value by its runtime type.
+     * 
+     * @param cell
+     * @param value
+     */
+    private void writeAny(XSSFCell cell, Object value) {
+        if (value instanceof LocalDate) {
+            writeDate(cell, value);
+        } else if (value instanceof Integer) {
+            writeInt(cell, value);
+        } else {
+            writeText(cell, value);
+        }
+    }
+
+    /**
+     * Write the {@link LocalDate} value.
+     * 
+     * @param cell
+     * @param value
+     */
+    private void writeDate(XSSFCell cell, Object value) {
+        if (value == null) {
+            writeText(cell, value);
+        } else {
+            cell.setCellValue(Date.from(((LocalDate) value).atTime(0, 0).toInstant(ZoneOffset.UTC)));
+            cell.setCellStyle(dateStyle);
+        }
+    }
+
+    /**
+     * Write the {@link Integer} value.
+     * 
+     * @param cell
+     * @param value
+     */
+    private void writeInt(XSSFCell cell, Object value) {
+        if (value == null) {
+            writeText(cell, value);
+        } else {
+            cell.setCellValue(((Integer) value).doubleValue());
+        }
+    }
+
+    /**
+     * Write the value as text.
+     * 
+     * @param cell
+     * @param value
+     */
+    private void writeText(XSSFCell cell, Object value) {
+        cell.setCellValue(String.valueOf(value));
+    }
+
+    /**
+     * Typed cell writer.
+     */
+    private interface CellWriter {
+
+        /**
+         * Write the value into the cell.
+         * 
+         * @param cell
+         * @param value
+         */
+        void write(XSSFCell cell, Object value);
+    }
+
+    /**
+     * Compiled binder from the model properties to the row cells for the pair of model type and
+     * sheet header.
+     */
+    private class Binder {
+
+        /** The model. */
+        private final Model model;
+
+        /** The target column indexes. */
+        private final int[] columns;
+
+        /** The source properties. */
+        private final Property[] properties;
+
+        /** The typed writers. */
+        private final CellWriter[] writers;
+
+        /**
+         * Compile binder.
+         * 
+         * @param model
+         * @param header
+         */
+        private Binder(Model model, Map<String, Integer> header) {
+            this.model = model;
+
+            List<Integer> indexes = new ArrayList();
+            List<Property> list = new ArrayList();
+            for (Entry<String, Integer> entry : header.entrySet()) {
+                Property property = model.property(entry.getKey());
+
+                if (property != null) {
+                    indexes.add(entry.getValue());
+                    list.add(property);
+                }
+            }
+
+            this.columns = new int[indexes.size()];
+            this.properties = list.toArray(Property[]::new);
+            this.writers = new CellWriter[properties.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = indexes.get(i);
+                writers[i] = writer(properties[i].model.type);
+            }
+        }
+
+        /**
+         * Select the writer by the declared type.
+         * 
+         * @param type
+         * @return
+         */
+        private CellWriter writer(Class type) {
+            if (type == LocalDate.class) {
+                return Excel.this::writeDate;
+            } else if (type == Integer.class) {
+                return Excel.this::writeInt;
+            } else if (type == int.class) {
+                return (cell, value) -> cell.setCellValue(((Integer) value).doubleValue());
+            } else if (Modifier.isFinal(type.getModifiers())) {
+                // the final type is neither LocalDate nor Integer
+                return Excel.this::writeText;
+            } else {
+                return Excel.this::writeAny;
+            }
+        }
+
+        /**
+         * Write all properties of the model into the row.
+         * 
+         * @param item
+         * @param row
+         */
+        private void bind(Object item, Row row) {
+            for (int i = 0; i < columns.length; i++) {
+                writers[i].write(row.cell(columns[i]), model.get(item, properties[i]));
             }
-            return builder.toString();
         }
     }
 
@@ -798,23 +1081,94 @@ public class Excel {
      * @param writer
      */
     public static <T> void write(File output, List<T> items, WiseBiConsumer<RowWriter, T> writer) {
-        XSSFWorkbook book = new XSSFWorkbook();
-        XSSFSheet sheet = book.createSheet();
+        write(output, items.iterator(), writer, WINDOW);
+    }
+
+    /**
+     * Write out the new excel file in streaming mode. Only the latest rows in the row-access window
+     * are held in memory, the others are flushed to the compressed temporary file.
+     * 
+     * @param <T>
+     * @param output
+     * @param items
+     * @param writer
+     * @param window The number of rows which are kept in memory.
+     */
+    public static <T> void write(File output, Iterator<T> items, WiseBiConsumer<RowWriter, T> writer, int window) {
+        write(output, window, writer, consumer -> items.forEachRemaining(consumer));
+    }
+
+    /**
+     * Write out the new excel file in streaming mode. Only the latest rows in the row-access window
+     * are held in memory, the others are flushed to the compressed temporary file.
+     * 
+     * @param <T>
+     * @param output
+     * @param items
+     * @param writer
+     */
+    public static <T> void write(File output, Signal<T> items, WiseBiConsumer<RowWriter, T> writer) {
+        write(output, items, writer, WINDOW);
+    }
+
+    /**
+     * Write out the new excel file in streaming mode. Only the latest rows in the row-access window
+     * are held in memory, the others are flushed to the compressed temporary file. The signal is
+     * consumed synchronously.
+     * 
+     * @param <T>
+     * @param output
+     * @param items
+     * @param writer
+     * @param window The number of rows which are kept in memory.
+     */
+    public static <T> void write(File output, Signal<T> items, WiseBiConsumer<RowWriter, T> writer, int window) {
+        write(output, window, writer, consumer -> {
+            Throwable[] error = new Throwable[1];
+            items.to(consumer, e -> error[0] = e);
+
+            if (error[0] != null) {
+                throw error[0];
+            }
+        });
+    }
+
+    /**
+     * Write out the new excel file in streaming mode.
+     * 
+     * @param <T>
+     * @param output
+     * @param window
+     * @param writer
+     * @param source
+     */
+    private static <T> void write(File output, int window, WiseBiConsumer<RowWriter, T> writer, WiseConsumer<Consumer<T>> source) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Row-access window must be positive.");
+        }
+
+        SXSSFWorkbook book = new SXSSFWorkbook(new XSSFWorkbook(), window, true);
 
         try {
-            int count = 0;
-            for (int i = 0; i < items.size(); i++) {
-                T item = items.get(i);
+            SXSSFSheet sheet = book.createSheet();
+            CellStyle dateStyle = book.createCellStyle();
+            dateStyle.setDataFormat(book.createDataFormat().getFormat("yyyy/mm/dd"));
+
+            int[] count = {0};
+            source.accept(item -> {
                 if (item != null) {
-                    writer.accept(new RowWriter(sheet.createRow(count++)), item);
+                    writer.accept(new RowWriter(sheet.createRow(count[0]++), dateStyle), item);
                 }
-            }
+            });
 
-            book.write(output.newOutputStream());
-        } catch (Exception e) {
+            try (OutputStream stream = output.newOutputStream()) {
+                book.write(stream);
+            }
+        } catch (Throwable e) {
             throw I.quiet(e);
         } finally {
             try {
+                book.dispose();
                 book.close();
             } catch (IOException e) {
                 throw I.quiet(e);
@@ -827,15 +1181,22 @@ public class Excel {
      */
     public static class RowWriter {
 
-        private final XSSFRow row;
+        /** The actual row. */
+        private final org.apache.poi.ss.usermodel.Row row;
 
+        /** The style for date. */
+        private final CellStyle dateStyle;
+
+        /** The next column index. */
         private int count;
 
         /**
          * @param row
+         * @param dateStyle
          */
-        private RowWriter(XSSFRow row) {
+        private RowWriter(org.apache.poi.ss.usermodel.Row row, CellStyle dateStyle) {
             this.row = row;
+            this.dateStyle = dateStyle;
         }
 
         /**
@@ -845,11 +1206,73 @@ public class Excel {
          * @return
          */
         public RowWriter add(String value) {
-            XSSFCell cell = row.createCell(count++);
+            Cell cell = row.createCell(count++);
+            cell.setCellValue(value);
+
+            return this;
+        }
+
+        /**
+         * Write the new numeric cell.
+         * 
+         * @param value
+         * @return
+         */
+        public RowWriter add(int value) {
+            return add((double) value);
+        }
+
+        /**
+         * Write the new numeric cell.
+         * 
+         * @param value
+         * @return
+         */
+        public RowWriter add(long value) {
+            return add((double) value);
+        }
+
+        /**
+         * Write the new numeric cell.
+         * 
+         * @param value
+         * @return
+         */
+        public RowWriter add(double value) {
+            Cell cell = row.createCell(count++);
             cell.setCellValue(value);
 
             return this;
         }
+
+        /**
+         * Write the new numeric cell. The null value writes the blank cell.
+         * 
+         * @param value
+         * @return
+         */
+        public RowWriter addDecimal(BigDecimal value) {
+            Cell cell = row.createCell(count++);
+            if (value != null) {
+                cell.setCellValue(value.doubleValue());
+            }
+            return this;
+        }
+
+        /**
+         * Write the new date cell. The null value writes the blank cell.
+         * 
+         * @param value
+         * @return
+         */
+        public RowWriter addDate(LocalDate value) {
+            Cell cell = row.createCell(count++);
+            if (value != null) {
+                cell.setCellValue(value);
+                cell.setCellStyle(dateStyle);
+            }
+            return this;
+        }
     }
 
     /**
@@ -862,6 +1285,7 @@ public class Excel {
         if (file == null || file.isAbsent()) {
             throw new IllegalArgumentException("Excel file is unknown, please specify the valid file.");
         }
+        Phonetics.refresh();
         return I.signal(file).map(x -> new XSSFWorkbook(file.asJavaFile())).flatIterable(x -> x).as(XSSFSheet.class).map(SheetReader::new);
     }
 
@@ -911,7 +1335,7 @@ public class Excel {
                     }
 
                     // process for each rows
-                    for (int i = 1; i < sheet.getLastRowNum(); i++) {
+                    for (int i = 1; i <= sheet.getLastRowNum(); i++) {
                         XSSFRow row = sheet.getRow(i);
 
                         if (row != null) {
@@ -945,6 +1369,141 @@ public class Excel {
                 return disposer;
             });
         }
+
+        /**
+         * Read all rows as the specified record or bean. The header row is resolved to the record
+         * components or bean properties only once, and each row which has any value in them is
+         * decoded.
+         * 
+         * @param type A record or bean type.
+         * @return
+         */
+        public <T> Signal<T> read(Class<T> type) {
+            if (type == null) {
+                throw new IllegalArgumentException("Model type is unknown, please specify the valid type.");
+            }
+
+            return new Signal<>((observer, disposer) -> {
+                try {
+                    // create header mapping
+                    Map<String, Integer> mapping = new HashMap();
+                    for (Cell header : sheet.getRow(0)) {
+                        mapping.put(header.getStringCellValue(), header.getColumnIndex());
+                    }
+
+                    ColumnPlan<T> plan = new ColumnPlan(type, mapping);
+                    for (int i = 1, last = sheet.getLastRowNum(); i <= last && !disposer.isDisposed(); i++) {
+                        T decoded = plan.decode(sheet.getRow(i));
+
+                        if (decoded != null) {
+                            observer.accept(decoded);
+                        }
+                    }
+                    observer.complete();
+                } catch (Throwable e) {
+                    observer.error(e);
+                }
+                return disposer;
+            });
+        }
+    }
+
+    /**
+     * Read all sheets in parallel mode. Each sheet is decoded on the specified executor by the
+     * event API, and the shared strings table of the workbook is parsed only once.
+     * 
+     * @param file An excel file.
+     * @param executor An executor to decode each sheet.
+     * @param ordered Emit the sheets in the workbook order if true, otherwise in the completion
+     *            order.
+     * @return
+     */
+    public static Signal<SheetRows> read(File file, Executor executor, boolean ordered) {
+        if (file == null || file.isAbsent()) {
+            throw new IllegalArgumentException("Excel file is unknown, please specify the valid file.");
+        }
+
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is unknown, please specify the valid executor.");
+        }
+        Phonetics.refresh();
+        return StreamReader.read(file, executor, ordered);
+    }
+
+    /**
+     * The decoded rows of the sheet.
+     */
+    public static class SheetRows {
+
+        /** The sheet name. */
+        private final String name;
+
+        /** The header mapping. */
+        private final Map<String, Integer> mapping;
+
+        /** The decoded rows. */
+        private final List<RowReader> rows;
+
+        /** The elapsed time to decode. */
+        private final Duration elapsed;
+
+        /**
+         * @param name
+         * @param mapping
+         * @param rows
+         * @param elapsed
+         */
+        SheetRows(String name, Map<String, Integer> mapping, List<RowReader> rows, Duration elapsed) {
+            this.name = name;
+            this.mapping = mapping;
+            this.rows = rows;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Get the sheet name.
+         * 
+         * @return
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Get all rows which have any value except for the header row.
+         * 
+         * @return
+         */
+        public List<RowReader> rows() {
+            return Collections.unmodifiableList(rows);
+        }
+
+        /**
+         * Get the elapsed time to decode this sheet.
+         * 
+         * @return
+         */
+        public Duration elapsed() {
+            return elapsed;
+        }
+
+        /**
+         * Read data from row.
+         * 
+         * @param headerName A header name which must have value in each row.
+         * @return
+         */
+        public Signal<RowReader> read(String headerName) {
+            if (headerName == null || headerName.isBlank()) {
+                throw new IllegalArgumentException("Header name is unknown, please specify the valid name.");
+            }
+
+            int index = mapping.getOrDefault(headerName, -1);
+            if (index == -1) {
+                throw new IllegalArgumentException("Header name is unknown, please specify the valid name.");
+            }
+            return I.signal(rows).take(row -> row.has(index));
+        }
     }
 
     /**
@@ -962,6 +1521,7 @@ public class Excel {
         if (headerName == null || headerName.isBlank()) {
             throw new IllegalArgumentException("Header name is unknown, please specify the valid name.");
         }
+        Phonetics.refresh();
 
         return new Signal<>((observer, disposer) -> {
             XSSFWorkbook book = null;
@@ -986,7 +1546,7 @@ public class Excel {
                 }
 
                 // process for each rows
-                for (int i = 1; i < sheet.getLastRowNum(); i++) {
+                for (int i = 1; i <= sheet.getLastRowNum(); i++) {
                     XSSFRow row = sheet.getRow(i);
 
                     if (row != null) {
@@ -1029,6 +1589,39 @@ public class Excel {
         });
     }
 
+    /**
+     * Read data for each row in streaming mode. The workbook is parsed by the event API, so the
+     * memory footprint doesn't depend on the number of rows. The merged cells are not resolved in
+     * this mode.
+     */
+    public static Signal<RowReader> stream(File file, String sheetName, String headerName) {
+        return stream(file, sheetName, headerName, false);
+    }
+
+    /**
+     * Read data for each row in streaming mode. The workbook is parsed by the event API, so the
+     * memory footprint doesn't depend on the number of rows. The merged cells are not resolved in
+     * this mode, and the error cells are treated as blank, so the rows which have an error at the
+     * specified header are not emitted.
+     * 
+     * @param phonetic Extract the phonetic text which can be read by {@link RowReader#phonetic}.
+     */
+    public static Signal<RowReader> stream(File file, String sheetName, String headerName, boolean phonetic) {
+        if (file == null || file.isAbsent()) {
+            throw new IllegalArgumentException("Excel file is unknown, please specify the valid file.");
+        }
+
+        if (sheetName == null || sheetName.isBlank()) {
+            throw new IllegalArgumentException("Sheet name is unknown, please specify the valid name.");
+        }
+
+        if (headerName == null || headerName.isBlank()) {
+            throw new IllegalArgumentException("Header name is unknown, please specify the valid name.");
+        }
+        Phonetics.refresh();
+        return StreamReader.read(file, sheetName, headerName, phonetic);
+    }
+
     /**
      * 
      */
@@ -1037,6 +1630,12 @@ public class Excel {
         /** The actual row. */
         private final XSSFRow row;
 
+        /** The streamed cell values. */
+        private final Object[] values;
+
+        /** The streamed phonetic texts. */
+        private final String[] phonetics;
+
         /** The header mapping. */
         private final Map<String, Integer> mapping;
 
@@ -1045,9 +1644,34 @@ public class Excel {
          */
         private RowReader(XSSFRow row, Map<String, Integer> mapping) {
             this.row = row;
+            this.values = null;
+            this.phonetics = null;
             this.mapping = mapping;
         }
 
+        /**
+         * @param values
+         * @param phonetics
+         */
+        RowReader(Object[] values, String[] phonetics, Map<String, Integer> mapping) {
+            this.row = null;
+            this.values = values;
+            this.phonetics = phonetics;
+            this.mapping = mapping;
+        }
+
+        /**
+         * Check whether the streamed value at the specified index is present or not.
+         * 
+         * @param index
+         * @return
+         */
+        boolean has(int index) {
+            Object value = index < values.length ? values[index] : null;
+
+            return value instanceof String text ? !text.isBlank() : value != null;
+        }
+
         /**
          * Read the value as text.
          * 
@@ -1089,14 +1713,58 @@ public class Excel {
         }
 
         /**
-         * Read the value.
+         * Read the phonetic text.
          * 
-         * @param cell
+         * @param headerName
+         * @return
+         */
+        public String phonetic(String headerName) {
+            int index = mapping.get(headerName);
+
+            if (row == null) {
+                return index < phonetics.length && phonetics[index] != null ? phonetics[index] : "";
+            }
+
+            XSSFCell cell = row.getCell(index);
+            return cell == null || cell.getCellType() != CellType.STRING ? "" : Row.ruby(cell);
+        }
+
+        /**
+         * Read the value and convert to the specified type. The phonetic text is set to the model
+         * by the {@link PhoneticAware} of the type.
+         * 
+         * @param headerName
          * @param type
          * @return
          */
-        private <M> M value(String headerName, Class<M> type) {
-            return value(row.getCell(mapping.get(headerName)), type);
+        public <M> M value(String headerName, Class<M> type) {
+            int index = mapping.get(headerName);
+
+            if (row == null) {
+                Object value = index < values.length ? values[index] : null;
+
+                if (value instanceof Double numeric) {
+                    return numeric(numeric, type);
+                } else if (value instanceof String text) {
+                    M model = I.transform(text, type);
+
+                    // the phonetic text is already extracted by the streaming parser
+                    String ruby = index < phonetics.length ? phonetics[index] : null;
+                    if (ruby != null) {
+                        PhoneticAware aware = Phonetics.find(type);
+
+                        if (aware != null) {
+                            aware.setPhonetic(model, ruby);
+                        }
+                    }
+                    return model;
+                } else if (value != null) {
+                    return I.transform(value.toString(), type);
+                } else {
+                    return initial(type);
+                }
+            }
+            return value(row.getCell(index), type);
         }
 
         /**
@@ -1106,7 +1774,7 @@ public class Excel {
          * @param type
          * @return
          */
-        private static <M> M value(XSSFCell cell, Class<M> type) {
+        static <M> M value(XSSFCell cell, Class<M> type) {
             if (cell == null) {
                 return initial(type);
             }
@@ -1121,6 +1789,9 @@ public class Excel {
             case NUMERIC:
                 return numeric(cell, cell.getNumericCellValue(), type);
 
+            case BOOLEAN:
+                return I.transform(String.valueOf(cell.getBooleanCellValue()), type);
+
             case FORMULA:
                 switch (cell.getCachedFormulaResultType()) {
                 case BLANK:
@@ -1132,6 +1803,9 @@ public class Excel {
                 case NUMERIC:
                     return numeric(cell, cell.getNumericCellValue(), type);
 
+                case BOOLEAN:
+                    return I.transform(String.valueOf(cell.getBooleanCellValue()), type);
+
                 default:
                     break;
                 }
@@ -1155,14 +1829,11 @@ public class Excel {
             int columnIndex = cell.getColumnIndex();
 
             XSSFSheet sheet = cell.getSheet();
-            int size = sheet.getNumMergedRegions();
-
-            for (int i = 0; i < size; i++) {
-                CellRangeAddress range = sheet.getMergedRegion(i);
+            CellRangeAddress range = MergedRegions.find(sheet, rowIndex, columnIndex);
 
-                if (range.isInRange(rowIndex, columnIndex)) {
-                    return value(sheet.getRow(range.getFirstRow()).getCell(range.getFirstColumn()), modelClass);
-                }
+            // the top-left cell holds the value of merged region
+            if (range != null && (range.getFirstRow() != rowIndex || range.getFirstColumn() != columnIndex)) {
+                return value(sheet.getRow(range.getFirstRow()).getCell(range.getFirstColumn()), modelClass);
             }
             return initial(modelClass);
         }
@@ -1220,6 +1891,24 @@ public class Excel {
             return I.transform(numericText, modelClass);
         }
 
+        /**
+         * Retrieve value from the streamed numeric cell.
+         * 
+         * @param value
+         * @param modelClass
+         * @return
+         */
+        private static <M> M numeric(double numeric, Class<M> modelClass) {
+            if (modelClass == LocalDate.class) {
+                return (M) DateUtil.getLocalDateTime(numeric).toLocalDate();
+            }
+
+            if (modelClass == LocalTime.class) {
+                return (M) DateUtil.getLocalDateTime(numeric).toLocalTime();
+            }
+            return numeric(null, numeric, modelClass);
+        }
+
         /**
          * Return the initial value for the specified type.
          * 
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTMergeCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTMergeCells;
+
+/**
+ * Row-bucketed index of the merged regions in the sheet. Each bucket holds the regions which cover
+ * the row, sorted by the first column, so the covering region can be found by binary search. The
+ * buckets are allocated only up to the last row of the sheet, the region which spreads beyond it
+ * (e.g. the whole column) is kept in the tail list.
+ */
+final class MergedRegions {
+
+    /** The built indexes by sheet. */
+    private static final Map<XSSFSheet, MergedRegions> indexes = Collections.synchronizedMap(new WeakHashMap());
+
+    /** The empty bucket. */
+    private static final CellRangeAddress[] EMPTY = new CellRangeAddress[0];
+
+    /** The merged cells element at build time. */
+    private final CTMergeCells cells;
+
+    /** The number of merged regions at build time. */
+    private final int size;
+
+    /** The first merged cell element at build time. */
+    private final CTMergeCell first;
+
+    /** The last merged cell element at build time. */
+    private final CTMergeCell last;
+
+    /** The regions by row index. */
+    private final CellRangeAddress[][] rows;
+
+    /** The regions which spread beyond the bucketed rows, sorted by the first column. */
+    private final CellRangeAddress[] tail;
+
+    /**
+     * Build index.
+     * 
+     * @param sheet
+     * @param cells
+     * @param size
+     */
+    private MergedRegions(XSSFSheet sheet, CTMergeCells cells, int size) {
+        this.cells = cells;
+        this.size = size;
+        this.first = cells.getMergeCellArray(0);
+        this.last = cells.getMergeCellArray(size - 1);
+
+        List<CellRangeAddress> regions = sheet.getMergedRegions();
+        regions.sort(Comparator.comparingInt(CellRangeAddress::getFirstColumn));
+
+        // the rows after the last row of sheet are never bucketed
+        int limit = sheet.getLastRowNum();
+        for (CellRangeAddress region : regions) {
+            limit = Math.max(limit, region.getFirstRow());
+        }
+
+        List<CellRangeAddress>[] buckets = new List[limit + 1];
+        List<CellRangeAddress> tail = new ArrayList();
+        for (CellRangeAddress region : regions) {
+            for (int i = region.getFirstRow(); i <= Math.min(region.getLastRow(), limit); i++) {
+                if (buckets[i] == null) {
+                    buckets[i] = new ArrayList();
+                }
+                buckets[i].add(region);
+            }
+
+            if (limit < region.getLastRow()) {
+                tail.add(region);
+            }
+        }
+
+        this.rows = new CellRangeAddress[buckets.length][];
+        for (int i = 0; i < buckets.length; i++) {
+            rows[i] = buckets[i] == null ? EMPTY : buckets[i].toArray(CellRangeAddress[]::new);
+        }
+        this.tail = tail.toArray(CellRangeAddress[]::new);
+    }
+
+    /**
+     * Check whether the merged regions in the specified sheet seem to be same as the indexed ones.
+     * POI appends the new region as the new element and removes the region by its element, so the
+     * identities of the element and its both ends are enough to detect the change without parsing
+     * any region.
+     * 
+     * @param cells
+     * @param size
+     * @return
+     */
+    private boolean matches(CTMergeCells cells, int size) {
+        return this.cells == cells && this.size == size && first == cells.getMergeCellArray(0) && last == cells
+                .getMergeCellArray(size - 1);
+    }
+
+    /**
+     * Find the merged region which covers the specified cell.
+     * 
+     * @param rowIndex
+     * @param columnIndex
+     * @return The covering region or null.
+     */
+    private CellRangeAddress find(int rowIndex, int columnIndex) {
+        if (rowIndex < 0) {
+            return null;
+        }
+
+        if (rows.length <= rowIndex) {
+            for (CellRangeAddress region : tail) {
+                if (region.isInRange(rowIndex, columnIndex)) {
+                    return region;
+                }
+            }
+            return null;
+        }
+
+        // merged regions never overlap, so the candidate is the last one which starts at or
+        // before the specified column
+        CellRangeAddress[] bucket = rows[rowIndex];
+        int low = 0;
+        int high = bucket.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (bucket[middle].getFirstColumn() <= columnIndex) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high < 0 || bucket[high].getLastColumn() < columnIndex ? null : bucket[high];
+    }
+
+    /**
+     * Find the merged region which covers the specified cell. The index is built lazily and
+     * rebuilt when the merged cells element, the number of merged regions or the first or last
+     * element in the sheet is changed.
+     * 
+     * @param sheet
+     * @param rowIndex
+     * @param columnIndex
+     * @return The covering region or null.
+     */
+    static CellRangeAddress find(XSSFSheet sheet, int rowIndex, int columnIndex) {
+        CTMergeCells cells = sheet.getCTWorksheet().getMergeCells();
+        int size = cells == null ? 0 : cells.sizeOfMergeCellArray();
+        if (size == 0) {
+            return null;
+        }
+
+        MergedRegions index = indexes.get(sheet);
+        if (index == null || !index.matches(cells, size)) {
+            index = new MergedRegions(sheet, cells, size);
+            indexes.put(sheet, index);
+        }
+        return index.find(rowIndex, columnIndex);
+    }
+}
\ No newline at end of file
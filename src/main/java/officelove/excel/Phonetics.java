@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import java.util.List;
+import java.util.Optional;
+
+import kiss.I;
+
+/**
+ * Immutable snapshot of the loaded {@link PhoneticAware}s. The lookup result is cached by model
+ * type including the absence, and the snapshot is rebuilt only when the set of loaded extensions is
+ * changed.
+ */
+final class Phonetics {
+
+    /** The latest snapshot. */
+    private static volatile Phonetics latest;
+
+    /** The loaded {@link PhoneticAware} types. */
+    private final List<Class<PhoneticAware>> types;
+
+    /** The {@link PhoneticAware} by model type. */
+    private final ClassValue<Optional<PhoneticAware>> awares = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Optional<PhoneticAware> computeValue(Class<?> type) {
+            return Optional.ofNullable(I.find(PhoneticAware.class, type));
+        }
+    };
+
+    /**
+     * Build snapshot.
+     *
+     * @param types
+     */
+    private Phonetics(List<Class<PhoneticAware>> types) {
+        this.types = types;
+    }
+
+    /**
+     * Find the {@link PhoneticAware} for the specified model type.
+     *
+     * @param type A model type.
+     * @return The {@link PhoneticAware} or null.
+     */
+    static PhoneticAware find(Class type) {
+        Phonetics phonetics = latest;
+        if (phonetics == null) {
+            phonetics = refresh();
+        }
+        return phonetics.awares.get(type).orElse(null);
+    }
+
+    /**
+     * Rebuild the snapshot if the set of loaded extensions is changed.
+     *
+     * @return The latest snapshot.
+     */
+    static Phonetics refresh() {
+        List<Class<PhoneticAware>> types = I.findAs(PhoneticAware.class);
+
+        Phonetics phonetics = latest;
+        if (phonetics == null || !phonetics.types.equals(types)) {
+            latest = phonetics = new Phonetics(types);
+        }
+        return phonetics;
+    }
+}
\ No newline at end of file
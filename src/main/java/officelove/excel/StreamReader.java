@@ -0,0 +1,640 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import kiss.Disposable;
+import kiss.I;
+import kiss.Observer;
+import kiss.Signal;
+import officelove.excel.Excel.RowReader;
+import officelove.excel.Excel.SheetRows;
+import psychopath.File;
+
+/**
+ * Streaming reader built on the event API of POI. It never builds the workbook DOM, so the memory
+ * footprint doesn't depend on the number of rows.
+ */
+final class StreamReader {
+
+    /** The marker to stop parsing. */
+    private static final SAXException STOP = new SAXException("Parsing is stopped.");
+
+    /**
+     * Hide constructor.
+     */
+    private StreamReader() {
+    }
+
+    /**
+     * Read data for each row of the specified sheet.
+     *
+     * @param file An excel file.
+     * @param sheetName A target sheet name.
+     * @param headerName A header name which must have value in each row.
+     * @param phonetic Extract phonetic text or not.
+     * @return
+     */
+    static Signal<RowReader> read(File file, String sheetName, String headerName, boolean phonetic) {
+        return new Signal<>((observer, disposer) -> {
+            OPCPackage pack = null;
+            try {
+                pack = OPCPackage.open(file.asJavaFile(), PackageAccess.READ);
+                XSSFReader reader = new XSSFReader(pack);
+                Strings strings = new Strings(pack, phonetic);
+
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (sheets.hasNext()) {
+                    try (InputStream sheet = sheets.next()) {
+                        if (sheets.getSheetName().equals(sheetName)) {
+                            parse(sheet, new Sheet(strings, new Emitter(headerName, observer, disposer)));
+
+                            // the stopped parsing is not completion
+                            if (!disposer.isDisposed()) {
+                                observer.complete();
+                            }
+                            return disposer;
+                        }
+                    }
+                }
+                throw new IllegalArgumentException("Sheet name is unknown, please specify the valid name.");
+            } catch (Throwable e) {
+                observer.error(e);
+            } finally {
+                if (pack != null) {
+                    pack.revert();
+                }
+            }
+            return disposer;
+        });
+    }
+
+    /**
+     * Read all sheets concurrently. The shared strings table is parsed only once and shared by all
+     * sheets as read-only.
+     *
+     * @param file An excel file.
+     * @param executor An executor to decode each sheet.
+     * @param ordered Emit the sheets in the workbook order or in the completion order.
+     * @return
+     */
+    static Signal<SheetRows> read(File file, Executor executor, boolean ordered) {
+        return new Signal<>((observer, disposer) -> {
+            OPCPackage pack = null;
+            List<CompletableFuture<SheetRows>> futures = new ArrayList();
+            try {
+                pack = OPCPackage.open(file.asJavaFile(), PackageAccess.READ);
+                XSSFReader reader = new XSSFReader(pack);
+                Strings strings = new Strings(pack, false);
+
+                BlockingQueue<CompletableFuture<SheetRows>> completed = new LinkedBlockingQueue();
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (sheets.hasNext()) {
+                    sheets.next().close();
+
+                    String name = sheets.getSheetName();
+                    PackagePart part = sheets.getSheetPart();
+                    CompletableFuture<SheetRows> future = CompletableFuture
+                            .supplyAsync(() -> rows(name, part, strings, disposer), executor);
+                    future.whenComplete((rows, error) -> completed.add(future));
+                    futures.add(future);
+                }
+
+                for (int i = 0; i < futures.size() && !disposer.isDisposed(); i++) {
+                    observer.accept((ordered ? futures.get(i) : completed.take()).join());
+                }
+
+                // the stopped reading is not completion
+                if (!disposer.isDisposed()) {
+                    observer.complete();
+                }
+            } catch (CompletionException e) {
+                observer.error(e.getCause());
+            } catch (Throwable e) {
+                observer.error(e);
+            } finally {
+                // the package must be kept open until all sheets are parsed
+                for (CompletableFuture<SheetRows> future : futures) {
+                    try {
+                        future.join();
+                    } catch (Throwable e) {
+                        // ignore
+                    }
+                }
+
+                if (pack != null) {
+                    pack.revert();
+                }
+            }
+            return disposer;
+        });
+    }
+
+    /**
+     * Parse all rows of the specified sheet.
+     *
+     * @param name A sheet name.
+     * @param part A sheet part.
+     * @param strings The shared strings.
+     * @param disposer The disposer.
+     * @return
+     */
+    private static SheetRows rows(String name, PackagePart part, Strings strings, Disposable disposer) {
+        long start = System.nanoTime();
+        Collector collector = new Collector(disposer);
+
+        try (InputStream input = part.getInputStream()) {
+            parse(input, new Sheet(strings, collector));
+        } catch (Throwable e) {
+            throw I.quiet(e);
+        }
+        return new SheetRows(name, collector.mapping, collector.rows, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Parse XML by the specified handler.
+     *
+     * @param input
+     * @param handler
+     * @throws Exception
+     */
+    static void parse(InputStream input, DefaultHandler handler) throws Exception {
+        try {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(handler);
+            parser.parse(new InputSource(input));
+        } catch (SAXException e) {
+            if (e != STOP) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Compute the zero-based column index from the cell reference like "AB12".
+     *
+     * @param reference
+     * @return
+     */
+    static int column(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+
+            if ('A' <= c && c <= 'Z') {
+                column = column * 26 + (c - 'A' + 1);
+            } else {
+                break;
+            }
+        }
+        return column - 1;
+    }
+
+    /**
+     * Listener for the parsed row.
+     */
+    interface RowListener {
+
+        /**
+         * Accept the parsed row.
+         *
+         * @param index A zero-based row index.
+         * @param values A list of cell values ({@link String}, {@link Double}, {@link Boolean} or
+         *            null).
+         * @param phonetics A list of phonetic texts, or null.
+         * @throws SAXException
+         */
+        void row(int index, Object[] values, String[] phonetics) throws SAXException;
+    }
+
+    /**
+     * Shared strings table.
+     */
+    static class Strings extends DefaultHandler {
+
+        /** The texts. */
+        private final List<String> texts = new ArrayList();
+
+        /** The phonetic texts, or null. */
+        private final List<String> phonetics;
+
+        /** The text buffer. */
+        private final StringBuilder text = new StringBuilder();
+
+        /** The phonetic buffer. */
+        private final StringBuilder ruby = new StringBuilder();
+
+        /** The capturing state. */
+        private boolean capture;
+
+        /** The phonetic state. */
+        private boolean inPhonetic;
+
+        /**
+         * Read all shared strings.
+         *
+         * @param pack
+         * @param phonetic
+         */
+        Strings(OPCPackage pack, boolean phonetic) throws Exception {
+            this.phonetics = phonetic ? new ArrayList() : null;
+
+            for (PackagePart part : pack.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType())) {
+                try (InputStream input = part.getInputStream()) {
+                    parse(input, this);
+                }
+            }
+        }
+
+        /**
+         * Get the text at the specified index.
+         *
+         * @param index
+         * @return
+         */
+        String text(int index) {
+            return texts.get(index);
+        }
+
+        /**
+         * Get the phonetic text at the specified index.
+         *
+         * @param index
+         * @return
+         */
+        String phonetic(int index) {
+            return phonetics == null ? null : phonetics.get(index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+            case "si":
+                text.setLength(0);
+                ruby.setLength(0);
+                break;
+
+            case "t":
+                capture = true;
+                break;
+
+            case "rPh":
+                inPhonetic = true;
+                break;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+            case "si":
+                texts.add(text.toString());
+                if (phonetics != null) {
+                    phonetics.add(ruby.toString());
+                }
+                break;
+
+            case "t":
+                capture = false;
+                break;
+
+            case "rPh":
+                inPhonetic = false;
+                break;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (capture) {
+                if (!inPhonetic) {
+                    text.append(ch, start, length);
+                } else if (phonetics != null) {
+                    ruby.append(ch, start, length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sheet parser.
+     */
+    static class Sheet extends DefaultHandler {
+
+        /** The shared strings. */
+        private final Strings strings;
+
+        /** The row listener. */
+        private final RowListener listener;
+
+        /** The current row values. */
+        private final List<Object> values = new ArrayList();
+
+        /** The current row phonetics. */
+        private final List<String> phonetics = new ArrayList();
+
+        /** The value buffer. */
+        private final StringBuilder value = new StringBuilder();
+
+        /** The phonetic buffer. */
+        private final StringBuilder ruby = new StringBuilder();
+
+        /** The current row index. */
+        private int row = -1;
+
+        /** The current column index. */
+        private int column = -1;
+
+        /** The current cell type. */
+        private String type;
+
+        /** The capturing state. */
+        private boolean capture;
+
+        /** The phonetic state. */
+        private boolean inPhonetic;
+
+        /**
+         * @param strings
+         * @param listener
+         */
+        Sheet(Strings strings, RowListener listener) {
+            this.strings = strings;
+            this.listener = listener;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+            case "row":
+                String r = attributes.getValue("r");
+                row = r == null ? row + 1 : Integer.parseInt(r) - 1;
+                column = -1;
+                values.clear();
+                phonetics.clear();
+                break;
+
+            case "c":
+                String reference = attributes.getValue("r");
+                column = reference == null ? column + 1 : column(reference);
+                type = attributes.getValue("t");
+                value.setLength(0);
+                ruby.setLength(0);
+                break;
+
+            case "v":
+            case "t":
+                capture = true;
+                break;
+
+            case "rPh":
+                inPhonetic = true;
+                break;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+            case "row":
+                listener.row(row, values.toArray(), phonetics.toArray(String[]::new));
+                break;
+
+            case "c":
+                cell();
+                break;
+
+            case "v":
+            case "t":
+                capture = false;
+                break;
+
+            case "rPh":
+                inPhonetic = false;
+                break;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (capture) {
+                (inPhonetic ? ruby : value).append(ch, start, length);
+            }
+        }
+
+        /**
+         * Decode the current cell.
+         */
+        private void cell() {
+            if (value.isEmpty() || column < 0) {
+                return;
+            }
+
+            String text = value.toString();
+            Object decoded;
+            String phonetic = null;
+
+            if (type == null || type.equals("n")) {
+                decoded = Double.parseDouble(text);
+            } else {
+                switch (type) {
+                case "s":
+                    int index = Integer.parseInt(text);
+                    decoded = strings.text(index);
+                    phonetic = strings.phonetic(index);
+                    break;
+
+                case "inlineStr":
+                    decoded = text;
+                    phonetic = ruby.toString();
+                    break;
+
+                case "b":
+                    decoded = text.equals("1");
+                    break;
+
+                case "e":
+                    decoded = null;
+                    break;
+
+                default:
+                    decoded = text;
+                    break;
+                }
+            }
+
+            while (values.size() <= column) {
+                values.add(null);
+                phonetics.add(null);
+            }
+            values.set(column, decoded);
+            phonetics.set(column, phonetic);
+        }
+    }
+
+    /**
+     * Emit the rows which have the value at the specified header.
+     */
+    private static class Emitter implements RowListener {
+
+        /** The target header. */
+        private final String headerName;
+
+        /** The destination. */
+        private final Observer<? super RowReader> observer;
+
+        /** The disposer. */
+        private final Disposable disposer;
+
+        /** The header mapping. */
+        private Map<String, Integer> mapping;
+
+        /** The target column. */
+        private int index = -1;
+
+        /**
+         * @param headerName
+         * @param observer
+         * @param disposer
+         */
+        private Emitter(String headerName, Observer<? super RowReader> observer, Disposable disposer) {
+            this.headerName = headerName;
+            this.observer = observer;
+            this.disposer = disposer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void row(int row, Object[] values, String[] phonetics) throws SAXException {
+            if (disposer.isDisposed()) {
+                throw STOP;
+            }
+
+            if (mapping == null) {
+                // create header mapping
+                mapping = new HashMap();
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] instanceof String name) {
+                        mapping.put(name, i);
+                    }
+                }
+
+                // specify the target header
+                index = mapping.getOrDefault(headerName, -1);
+                if (row != 0 || index == -1) {
+                    throw new IllegalArgumentException("Header name is unknown, please specify the valid name.");
+                }
+                return;
+            }
+
+            Object value = index < values.length ? values[index] : null;
+            if (value instanceof String text ? !text.isBlank() : value != null) {
+                observer.accept(new RowReader(values, phonetics, mapping));
+            }
+        }
+    }
+
+    /**
+     * Collect all rows which have any value.
+     */
+    private static class Collector implements RowListener {
+
+        /** The collected rows. */
+        private final List<RowReader> rows = new ArrayList();
+
+        /** The disposer. */
+        private final Disposable disposer;
+
+        /** The header mapping. */
+        private Map<String, Integer> mapping;
+
+        /**
+         * @param disposer
+         */
+        private Collector(Disposable disposer) {
+            this.disposer = disposer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void row(int row, Object[] values, String[] phonetics) throws SAXException {
+            if (disposer.isDisposed()) {
+                throw STOP;
+            }
+
+            if (mapping == null) {
+                mapping = new HashMap();
+
+                // create header mapping
+                if (row == 0) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (values[i] instanceof String name) {
+                            mapping.put(name, i);
+                        }
+                    }
+                    return;
+                }
+            }
+
+            RowReader reader = new RowReader(values, phonetics, mapping);
+            for (int i = 0; i < values.length; i++) {
+                if (reader.has(i)) {
+                    rows.add(reader);
+                    return;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.expression;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import kiss.I;
+
+/**
+ * Method based accessor with the pre-converted constant parameters.
+ */
+final class Accessor {
+
+    /** The accessors by type and expression part. */
+    private static final ClassValue<Map<String, Accessor>> accessors = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Map<String, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap();
+        }
+    };
+
+    /** The marker for the unresolvable method. */
+    private static final Accessor NONE = new Accessor(null, null, null);
+
+    /** The uniform invoker type. */
+    private static final MethodType INVOKER = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /** The return type. */
+    final Class returnType;
+
+    /** The resolved method. */
+    final Method method;
+
+    /** The actual invoker. */
+    private final MethodHandle handle;
+
+    /** The pre-converted parameters. */
+    private final Object[] params;
+
+    /**
+     * Build accessor.
+     *
+     * @param method
+     * @param handle
+     * @param params
+     */
+    private Accessor(Method method, MethodHandle handle, Object[] params) {
+        this.method = method;
+        this.returnType = method == null ? void.class : method.getReturnType();
+        this.handle = handle;
+        this.params = params;
+    }
+
+    /**
+     * Invoke the method on the specified object. The exception thrown by the method is rethrown
+     * as it is.
+     *
+     * @param object
+     * @return
+     * @throws Exception
+     */
+    Object invoke(Object object) throws Exception {
+        try {
+            return (Object) handle.invokeExact(object, params);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    /**
+     * Copy the pre-converted parameters.
+     *
+     * @return
+     */
+    Object[] params() {
+        return params.clone();
+    }
+
+    /**
+     * Find the accessor for the specified type and expression part.
+     *
+     * @param type
+     * @param part
+     * @return The accessor or null.
+     */
+    static Accessor of(Class type, Expression.Part part) throws Exception {
+        Map<String, Accessor> cache = accessors.get(type);
+        Accessor accessor = cache.get(part.text);
+
+        if (accessor == null) {
+            accessor = find(type, part);
+            cache.put(part.text, accessor);
+        }
+        return accessor == NONE ? null : accessor;
+    }
+
+    /**
+     * Search the method for the specified type and expression part.
+     *
+     * @param type
+     * @param part
+     * @return
+     */
+    private static Accessor find(Class type, Expression.Part part) throws Exception {
+        for (Method method : type.getMethods()) {
+            // exclude void type
+            if (method.getReturnType() == void.class) {
+                continue;
+            }
+
+            if (method.getName().equals(part.name) && method.getParameterCount() == part.parameters.length) {
+                Object[] params = new Object[part.parameters.length];
+
+                for (int i = 0; i < params.length; i++) {
+                    params[i] = I.transform(part.parameters[i], method.getParameterTypes()[i]);
+                }
+                method.setAccessible(true);
+
+                MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                handle = handle.asSpreader(Object[].class, params.length).asType(INVOKER);
+
+                return new Accessor(method, handle, params);
+            }
+        }
+        return NONE;
+    }
+}
\ No newline at end of file
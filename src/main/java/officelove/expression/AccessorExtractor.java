@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.expression;
+
+/**
+ * Built-in {@link Extractor} which can use the cached {@link Accessor} directly instead of the
+ * reflective {@link Extractor#extract(java.lang.reflect.Method, Object[], Object)}.
+ */
+interface AccessorExtractor<R> {
+
+    /**
+     * Method based value extractor.
+     * 
+     * @param accessor
+     * @param object
+     * @return
+     */
+    R extract(Accessor accessor, R object) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.expression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import kiss.Model;
+
+/**
+ * Compiled form of the expression. It is immutable and shared by all {@link Parser}s.
+ */
+final class Expression {
+
+    /** The maximum number of cached expressions. */
+    static final int LIMIT = 4096;
+
+    /** The number of cache segments, it must be power of 2. */
+    private static final int SEGMENTS = 16;
+
+    /** The compiled expressions, each segment evicts the least recently used one. */
+    private static final Map<String, Expression>[] expressions = new Map[SEGMENTS];
+
+    static {
+        for (int i = 0; i < SEGMENTS; i++) {
+            expressions[i] = Collections.synchronizedMap(new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                    return LIMIT / SEGMENTS < size();
+                }
+            });
+        }
+    }
+
+    /** The expression text without optional mark. */
+    final String text;
+
+    /** The optional state. */
+    final boolean optional;
+
+    /** The compiled parts. */
+    final Part[] parts;
+
+    /** The model which resolved this expression last time, it is shared by all parsers. */
+    volatile Hint hint;
+
+    /**
+     * Compile expression.
+     *
+     * @param expression
+     */
+    private Expression(String expression) {
+        this.optional = expression.endsWith("?");
+        this.text = optional ? expression.substring(0, expression.length() - 1) : expression;
+
+        List<String> parsed = parse(text);
+        this.parts = new Part[parsed.size()];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new Part(parsed.get(i), i == 0);
+        }
+    }
+
+    /**
+     * Compile the specified expression. The cache is split into the segments by hash, so the
+     * threads rarely contend for the same lock.
+     *
+     * @param expression
+     * @return
+     */
+    static Expression compile(String expression) {
+        int hash = expression.hashCode();
+
+        return expressions[(hash ^ hash >>> 16) & (SEGMENTS - 1)].computeIfAbsent(expression, Expression::new);
+    }
+
+    /**
+     * Parse the expression.
+     *
+     * @param expression
+     * @return
+     */
+    private static List<String> parse(String expression) {
+        List<String> parts = new ArrayList();
+        boolean sequencial = false;
+        StringBuilder part = new StringBuilder();
+
+        for (int i = 0, length = expression.length(); i < length; i++) {
+            char c = expression.charAt(i);
+            switch (c) {
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+                sequencial = false;
+                break; // ignore space
+
+            case '.':
+                sequencial = false;
+                if (i + 1 != length && Character
+                        .isDigit(expression.charAt(i + 1)) && (0 <= i - 1 && Character.isDigit(expression.charAt(i - 1)))) {
+                    part.append(c);
+                } else {
+                    parts.add(part.toString());
+                    part.setLength(0);
+                }
+                break;
+
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '%':
+            case '#':
+            case '&':
+            case '!':
+            case '=':
+            case '<':
+            case '>':
+            case '?':
+            case '@':
+                if (sequencial) {
+                    // do nothing
+                } else {
+                    sequencial = true;
+                    parts.add(part.toString());
+                    part.setLength(0);
+                }
+                part.append(c);
+                break;
+
+            default:
+                sequencial = false;
+                part.append(c);
+                break;
+            }
+        }
+        parts.add(part.toString());
+        return parts;
+    }
+
+    /**
+     * The index of the model which resolved the expression. The hint is valid only for the model
+     * list whose types are same up to the resolving model, so the model which precedes it in the
+     * other list is never skipped.
+     */
+    static final class Hint {
+
+        /** The index of the resolving model. */
+        final int index;
+
+        /** The types of the models up to the resolving model. */
+        private final Object[] types;
+
+        /**
+         * @param models
+         * @param index
+         */
+        Hint(List models, int index) {
+            this.index = index;
+            this.types = new Object[index + 1];
+
+            for (int i = 0; i <= index; i++) {
+                types[i] = type(models.get(i));
+            }
+        }
+
+        /**
+         * Test whether this hint is valid for the specified models.
+         * 
+         * @param models
+         * @return
+         */
+        boolean matches(List models) {
+            if (models.size() <= index) {
+                return false;
+            }
+
+            for (int i = 0; i <= index; i++) {
+                if (types[i] != type(models.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Compute the type of the specified model. The {@link Model} is used as it is in the
+         * validation mode.
+         * 
+         * @param model
+         * @return
+         */
+        private static Object type(Object model) {
+            return model instanceof Model ? model : model.getClass();
+        }
+    }
+
+    /**
+     * The compiled part of expression.
+     */
+    static final class Part {
+
+        /** The part text. */
+        final String text;
+
+        /** The leading character, or zero for the empty part. */
+        final char leading;
+
+        /** The built-in variable name, or null. */
+        final String builtin;
+
+        /** The method name. */
+        final String name;
+
+        /** The method parameters, or null when the parenthesis is unbalanced. */
+        final String[] parameters;
+
+        /**
+         * Compile the part.
+         *
+         * @param text
+         * @param head
+         */
+        private Part(String text, boolean head) {
+            this.text = text;
+            this.leading = text.isEmpty() ? 0 : text.charAt(0);
+            this.builtin = head && !text.isEmpty() && text.charAt(0) == '$' ? text.substring(1) : null;
+
+            int start = text.indexOf("(");
+            int end = text.lastIndexOf(")");
+
+            if (start == -1 && end == -1) {
+                // without parameter
+                this.name = text;
+                this.parameters = new String[0];
+            } else if (start != -1 && end != -1) {
+                // with parameter
+                this.name = text.substring(0, start);
+                this.parameters = text.substring(start + 1, end).split(",");
+
+                for (int i = 0; i < parameters.length; i++) {
+                    parameters[i] = parameters[i].strip();
+                }
+            } else {
+                this.name = text;
+                this.parameters = null;
+            }
+        }
+    }
+}
\ No newline at end of file
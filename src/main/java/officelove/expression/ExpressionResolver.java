@@ -16,6 +16,17 @@ import kiss.Extensible;
 
 public interface ExpressionResolver<T> extends Extensible {
 
+    /**
+     * Test the leading character of the expression before {@link #match(String)}. The resolver
+     * which has the restricted syntax can override this method to skip the costly matching.
+     * 
+     * @param leading The first character of the expression.
+     * @return false if this resolver never matches the expression.
+     */
+    default boolean accept(char leading) {
+        return true;
+    }
+
     /**
      * Test the specified expression.
      * 
@@ -15,7 +15,7 @@ import java.util.regex.Matcher;
 import kiss.Model;
 import kiss.Property;
 
-class ModelExtractor implements Extractor<Model> {
+class ModelExtractor implements Extractor<Model>, AccessorExtractor<Model> {
 
     /**
      * {@inheritDoc}
@@ -56,4 +56,12 @@ class ModelExtractor implements Extractor<Model> {
     public Model extract(Method method, Object[] params, Model object) throws Exception {
         return Model.of(method.getReturnType());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Model extract(Accessor accessor, Model object) throws Exception {
+        return Model.of(accessor.returnType);
+    }
 }
\ No newline at end of file
@@ -9,11 +9,9 @@
  */
 package officelove.expression;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -29,6 +27,9 @@ import kiss.Property;
  */
 public class Parser implements UnaryOperator<String> {
 
+    /** The marker for the unresolved expression. */
+    private static final Object UNRESOLVED = new Object();
+
     /** The context state. */
     private final boolean isVertical;
 
@@ -47,17 +48,8 @@ public class Parser implements UnaryOperator<String> {
     /** The buffer. */
     private StringBuilder variable = new StringBuilder();
 
-    /** Cache for {@link Variable} */
-    private List<Variable> variables = I.find(Variable.class);
-
-    /** Cache for {@link ExpressionResolver} */
-    private List<ExpressionResolver> resolvers = I.find(ExpressionResolver.class);
-
-    /** The target type of {@link ExpressionResolver}. */
-    private List<Class> resolverTypes = I.signal(resolvers)
-            .map(x -> Model.collectParameters(x.getClass(), ExpressionResolver.class)[0])
-            .as(Class.class)
-            .toList();
+    /** The shared {@link Variable} and {@link ExpressionResolver} registry. */
+    private final Registry registry;
 
     /**
      * Create parser by validation mode.
@@ -66,6 +58,7 @@ public class Parser implements UnaryOperator<String> {
         this.isVertical = false;
         this.models = models == null ? Collections.EMPTY_LIST : models.stream().map(Model::of).toList();
         this.extractor = new ModelExtractor();
+        this.registry = Registry.latest();
     }
 
     /**
@@ -84,9 +77,32 @@ public class Parser implements UnaryOperator<String> {
      * @param isVertical
      */
     public Parser(List models, boolean isVertical) {
+        this(models, isVertical, Registry.latest());
+    }
+
+    /**
+     * Create parser with context models.
+     * 
+     * @param models
+     * @param isVertical
+     * @param registry
+     */
+    private Parser(List models, boolean isVertical, Registry registry) {
         this.isVertical = isVertical;
         this.models = models == null ? Collections.EMPTY_LIST : models.stream().filter(Objects::nonNull).toList();
         this.extractor = new ValueExtractor();
+        this.registry = registry;
+    }
+
+    /**
+     * Create the child parser with the other context models. The child shares the vertical mode
+     * and the loaded extensions with this parser, so it is cheap to create it for each loop item.
+     * 
+     * @param models
+     * @return A child parser.
+     */
+    public Parser with(List models) {
+        return new Parser(models, isVertical, registry);
     }
 
     /**
@@ -141,7 +157,7 @@ public class Parser implements UnaryOperator<String> {
      * @return
      */
     private Object resolveBuiltinVariable(String name) {
-        for (Variable var : variables) {
+        for (Variable var : registry.variables) {
             if (var.test(name)) {
                 return extractor.extract(var, name);
             }
@@ -156,136 +172,101 @@ public class Parser implements UnaryOperator<String> {
      * @return
      */
     public Object resolve(String expression) {
-        Set<String> errors = new HashSet();
+        Expression compiled = Expression.compile(expression);
+        int size = models.size();
 
-        boolean optional = expression.endsWith("?");
-        if (optional) {
-            expression = expression.substring(0, expression.length() - 1);
-        }
+        // the failures are recorded while resolving, so no model is evaluated twice
+        List<Failure> failures = new ArrayList();
 
-        List<String> expressions = parse(expression);
-        if (expressions.isEmpty()) {
-            return "";
+        // try the model which resolved this expression last time in any parser
+        Expression.Hint hint = compiled.hint;
+        int hinted = hint != null && hint.matches(models) ? hint.index : -1;
+        if (hinted != -1) {
+            Object value = resolve(compiled, models.get(hinted), failures);
+
+            if (value != UNRESOLVED) {
+                return value;
+            }
         }
 
         // resolve value from various sources
-        for (int i = 0; i < models.size(); i++) {
-            try {
-                return resolve(expressions, 0, models.get(i));
-            } catch (ExpressionException e) {
-                if (!optional) {
-                    errors.add(e.getMessage());
+        for (int i = 0; i < size; i++) {
+            if (i != hinted) {
+                Object value = resolve(compiled, models.get(i), failures);
+
+                if (value != UNRESOLVED) {
+                    compiled.hint = new Expression.Hint(models, i);
+                    return value;
                 }
             }
         }
 
-        if (errors.isEmpty()) {
-            return ""; // optional
-        } else {
-            StringBuilder builder = new StringBuilder();
-            builder.append("There are several problems with this expression. {" + expression + "}");
-            for (String error : errors) {
-                builder.append("\n\t").append(error);
-            }
-            throw new ExpressionException(builder.toString());
+        if (compiled.optional || failures.isEmpty()) {
+            return "";
+        }
+
+        // all sources are failed, so describe the problems in detail
+        Set<String> errors = new LinkedHashSet();
+        for (Failure failure : failures) {
+            errors.add(failure.describe());
         }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("There are several problems with this expression. {" + compiled.text + "}");
+        for (String error : errors) {
+            builder.append("\n\t").append(error);
+        }
+        throw new ExpressionException(builder.toString());
     }
 
     /**
-     * Parse the expression.
+     * Compute the specified expression by the model. The nested expression error doesn't prevent
+     * the other models from being tried.
      * 
-     * @param expression
-     * @return
+     * @param compiled
+     * @param model
+     * @param failures
+     * @return The resolved value or {@link #UNRESOLVED}.
      */
-    private List<String> parse(String expression) {
-        List<String> parts = new ArrayList();
-        boolean sequencial = false;
-        StringBuilder part = new StringBuilder();
-
-        for (int i = 0, length = expression.length(); i < length; i++) {
-            char c = expression.charAt(i);
-            switch (c) {
-            case ' ':
-            case '\t':
-            case '\r':
-            case '\n':
-                sequencial = false;
-                break; // ignore space
-
-            case '.':
-                sequencial = false;
-                if (i + 1 != length && Character
-                        .isDigit(expression.charAt(i + 1)) && (0 <= i - 1 && Character.isDigit(expression.charAt(i - 1)))) {
-                    part.append(c);
-                } else {
-                    parts.add(part.toString());
-                    part.setLength(0);
-                }
-                break;
-
-            case '+':
-            case '-':
-            case '*':
-            case '/':
-            case '%':
-            case '#':
-            case '&':
-            case '!':
-            case '=':
-            case '<':
-            case '>':
-            case '?':
-            case '@':
-                if (sequencial) {
-                    // do nothing
-                } else {
-                    sequencial = true;
-                    parts.add(part.toString());
-                    part.setLength(0);
-                }
-                part.append(c);
-                break;
-
-            default:
-                sequencial = false;
-                part.append(c);
-                break;
-            }
+    private Object resolve(Expression compiled, Object model, List<Failure> failures) {
+        try {
+            return resolve(compiled.parts, 0, model, failures);
+        } catch (ExpressionException e) {
+            return unresolved(model, compiled.text, e, failures);
         }
-        parts.add(part.toString());
-        return parts;
     }
 
     /**
      * Compute the specified property variable.
      * 
-     * @param expressions
+     * @param parts
      * @param index
      * @param value
-     * @return
+     * @param failures The failure collector.
+     * @return The resolved value or {@link #UNRESOLVED}.
      */
-    private Object resolve(List<String> expressions, int index, Object value) {
+    private Object resolve(Expression.Part[] parts, int index, Object value, List<Failure> failures) {
         if (value == null || value == "") {
             return "";
         }
 
-        if (expressions.size() == index) {
+        if (parts.length == index) {
             return value;
         }
 
-        String expression = expressions.get(index);
+        Expression.Part part = parts[index];
+        String expression = part.text;
 
-        if (index == 0 && expression.charAt(0) == '$') {
-            return resolve(expressions, 1, resolveBuiltinVariable(expression.substring(1)));
+        if (part.builtin != null) {
+            return resolve(parts, 1, resolveBuiltinVariable(part.builtin), failures);
         }
 
-        for (int i = 0; i < resolvers.size(); i++) {
-            if (resolverTypes.get(i).isInstance(value) || value instanceof Model) {
-                ExpressionResolver resolver = resolvers.get(i);
+        for (ExpressionResolver resolver : value instanceof Model ? registry.resolvers : registry.resolvers(value.getClass())) {
+            if (resolver.accept(part.leading)) {
                 Matcher matcher = resolver.match(expression);
 
                 if (matcher.matches()) {
-                    return resolve(expressions, index + 1, extractor.extract(resolver, matcher, value));
+                    return resolve(parts, index + 1, extractor.extract(resolver, matcher, value), failures);
                 }
             }
         }
@@ -295,66 +276,62 @@ public class Parser implements UnaryOperator<String> {
 
         // Search from properties
         if (property != null) {
-            return resolve(expressions, index + 1, extractor.extract(model, property, value));
+            return resolve(parts, index + 1, extractor.extract(model, property, value), failures);
         }
 
         // Search from methods
-        try {
-            int start = expression.indexOf("(");
-            int end = expression.lastIndexOf(")");
-
-            String name;
-            List<String> parametersText;
-
-            if (start == -1 && end == -1) {
-                // without parameter
-                name = expression;
-                parametersText = Collections.EMPTY_LIST;
-            } else if (start != -1 && end != -1) {
-                // with parameter
-                name = expression.substring(0, start);
-                parametersText = Arrays.stream(expression.substring(start + 1, end).split(",")).map(String::strip).toList();
-            } else {
-                throw errorInVariableResolve(value, expression);
-            }
-
-            for (Method method : model.type.getMethods()) {
-                // exclude void type
-                if (method.getReturnType() == void.class) {
-                    continue;
-                }
-
-                if (method.getName().equals(name) && method.getParameterCount() == parametersText.size()) {
-                    Object[] params = new Object[parametersText.size()];
+        if (part.parameters == null) {
+            return unresolved(value, expression, null, failures);
+        }
 
-                    for (int i = 0; i < parametersText.size(); i++) {
-                        params[i] = I.transform(parametersText.get(i), method.getParameterTypes()[i]);
-                    }
-                    method.setAccessible(true);
-                    return resolve(expressions, index + 1, extractor.extract(method, params, value));
-                }
+        Object resolved;
+        try {
+            Accessor accessor = Accessor.of(model.type, part);
+            if (accessor == null) {
+                return unresolved(value, expression, null, failures);
             }
-            throw errorInVariableResolve(value, expression);
-        } catch (ExpressionException e) {
-            throw e;
+            resolved = extractor instanceof AccessorExtractor fast ? fast.extract(accessor, value)
+                    : extractor.extract(accessor.method, accessor.params(), value);
         } catch (Exception e) {
-            ExpressionException error = errorInVariableResolve(value, expression);
-            error.addSuppressed(e);
-            return error;
+            return unresolved(value, expression, e, failures);
         }
+        return resolve(parts, index + 1, resolved, failures);
     }
 
     /**
-     * Describe the error in detail.
+     * Record the failure. It is described only when all models are failed.
      * 
      * @param model
      * @param expression
-     * @return
+     * @param cause
+     * @param failures
+     * @return {@link #UNRESOLVED}
      */
-    private ExpressionException errorInVariableResolve(Object model, String expression) {
-        Class type = model instanceof Model m ? m.type : model.getClass();
+    private Object unresolved(Object model, String expression, Throwable cause, List<Failure> failures) {
+        failures.add(new Failure(model, expression, cause));
+        return UNRESOLVED;
+    }
 
-        return new ExpressionException("Class [" + type.getName() + "] can't resolve the expression [" + expression + "].");
+    /**
+     * The unresolved expression.
+     * 
+     * @param model The model which can't resolve the expression.
+     * @param expression The expression.
+     * @param cause The cause, or null.
+     */
+    private record Failure(Object model, String expression, Throwable cause) {
+
+        /**
+         * Describe the failure in detail.
+         * 
+         * @return
+         */
+        private String describe() {
+            Class type = model instanceof Model m ? m.type : model.getClass();
+            String message = "Class [" + type.getName() + "] can't resolve the expression [" + expression + "].";
+
+            return cause == null ? message : message + " " + cause;
+        }
     }
 
     /**
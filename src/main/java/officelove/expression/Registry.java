@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.expression;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import kiss.I;
+import kiss.Model;
+
+/**
+ * Immutable snapshot of the loaded {@link Variable}s and {@link ExpressionResolver}s. It is shared
+ * by all {@link Parser}s and rebuilt only when the set of loaded extensions is changed. The child
+ * parser inherits the snapshot from its parent, so the extensions are checked only once by the root
+ * parser.
+ */
+final class Registry {
+
+    /** The latest snapshot. */
+    private static volatile Registry latest;
+
+    /** The loaded {@link Variable} types. */
+    private final List<Class<Variable>> variableTypes;
+
+    /** The loaded {@link ExpressionResolver} types. */
+    private final List<Class<ExpressionResolver>> resolverTypes;
+
+    /** The all {@link Variable}s. */
+    final List<Variable> variables;
+
+    /** The all {@link ExpressionResolver}s which have the resolvable target type. */
+    final ExpressionResolver[] resolvers;
+
+    /** The target type of each {@link ExpressionResolver}. */
+    private final Class[] targets;
+
+    /** The applicable {@link ExpressionResolver}s by value type. */
+    private final ClassValue<ExpressionResolver[]> applicable = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected ExpressionResolver[] computeValue(Class<?> type) {
+            List<ExpressionResolver> list = new ArrayList();
+            for (int i = 0; i < resolvers.length; i++) {
+                if (targets[i].isAssignableFrom(type)) {
+                    list.add(resolvers[i]);
+                }
+            }
+            return list.toArray(ExpressionResolver[]::new);
+        }
+    };
+
+    /**
+     * Build snapshot.
+     *
+     * @param variableTypes
+     * @param resolverTypes
+     */
+    private Registry(List<Class<Variable>> variableTypes, List<Class<ExpressionResolver>> resolverTypes) {
+        this.variableTypes = variableTypes;
+        this.resolverTypes = resolverTypes;
+        this.variables = List.copyOf(I.find(Variable.class));
+
+        List<ExpressionResolver> resolvers = new ArrayList();
+        List<Class> targets = new ArrayList();
+        for (ExpressionResolver resolver : I.find(ExpressionResolver.class)) {
+            Class target = target(resolver);
+
+            // the resolver which has the unresolvable target type (e.g. type variable) is ignored
+            if (target != null) {
+                resolvers.add(resolver);
+                targets.add(target);
+            }
+        }
+        this.resolvers = resolvers.toArray(ExpressionResolver[]::new);
+        this.targets = targets.toArray(Class[]::new);
+    }
+
+    /**
+     * Compute the target type of the specified {@link ExpressionResolver}. The parameterized type
+     * (e.g. List&lt;String&gt;) is erased to its raw type.
+     *
+     * @param resolver A target resolver.
+     * @return The target type or null.
+     */
+    static Class target(ExpressionResolver resolver) {
+        Type type = Model.collectParameters(resolver.getClass(), ExpressionResolver.class)[0];
+
+        if (type instanceof ParameterizedType parameterized) {
+            type = parameterized.getRawType();
+        }
+        return type instanceof Class clazz ? clazz : null;
+    }
+
+    /**
+     * Find all {@link ExpressionResolver}s which can accept the specified value type.
+     *
+     * @param type A value type.
+     * @return
+     */
+    ExpressionResolver[] resolvers(Class type) {
+        return applicable.get(type);
+    }
+
+    /**
+     * Retrieve the latest snapshot. This method scans the loaded extensions, so the parser which
+     * is created repeatedly should inherit the snapshot from its parent.
+     *
+     * @return
+     */
+    static Registry latest() {
+        List<Class<Variable>> variableTypes = I.findAs(Variable.class);
+        List<Class<ExpressionResolver>> resolverTypes = I.findAs(ExpressionResolver.class);
+
+        Registry registry = latest;
+        if (registry == null || !registry.variableTypes.equals(variableTypes) || !registry.resolverTypes.equals(resolverTypes)) {
+            latest = registry = new Registry(variableTypes, resolverTypes);
+        }
+        return registry;
+    }
+}
\ No newline at end of file
@@ -15,7 +15,7 @@ import java.util.regex.Matcher;
 import kiss.Model;
 import kiss.Property;
 
-class ValueExtractor implements Extractor<Object> {
+class ValueExtractor implements Extractor<Object>, AccessorExtractor<Object> {
 
     /**
      * {@inheritDoc}
@@ -56,4 +56,12 @@ class ValueExtractor implements Extractor<Object> {
     public Object extract(Method method, Object[] params, Object object) throws Exception {
         return method.invoke(object, params);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object extract(Accessor accessor, Object object) throws Exception {
+        return accessor.invoke(object);
+    }
 }
\ No newline at end of file
@@ -22,6 +22,14 @@ public class NumberResolver implements ExpressionResolver<Number> {
     /** The range format. */
     private static final Pattern PATTERN = Pattern.compile("([+\\-*/%])([0-9.]+)");
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(char leading) {
+        return leading == '+' || leading == '-' || leading == '*' || leading == '/' || leading == '%';
+    }
+
     /**
      * {@inheritDoc}
      */
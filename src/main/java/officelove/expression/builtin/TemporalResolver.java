@@ -21,6 +21,14 @@ public class TemporalResolver implements ExpressionResolver<Temporal> {
     /** The range format. */
     private static final Pattern PATTERN = Pattern.compile("([+-]\\d+)(year|month|day|hour|min|sec|年|月|日|時間|時|分|秒)");
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(char leading) {
+        return leading == '+' || leading == '-';
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.word;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Registry of the styles which are embedded in text as the marker. The shared styling is held
+ * weakly by its {@link Marker}, so the styling is released when the style object becomes
+ * unreachable. The recently built markers are pinned for a while, because the text which is built
+ * from the dropped style (e.g. in getter) is usually evaluated soon. The styling which is
+ * registered as ephemeral in evaluation belongs to the evaluation and is released when the
+ * evaluation ends.
+ */
+final class StyleRegistry<T> {
+
+    /** The width of the encoded identifier. */
+    private static final int WIDTH = 8;
+
+    /** The radix of the encoded identifier. */
+    private static final int RADIX = 36;
+
+    /** The identifier generator which is shared by all registries. */
+    private static final AtomicLong NUM = new AtomicLong();
+
+    /** The all registries. */
+    private static final List<StyleRegistry> registries = new CopyOnWriteArrayList();
+
+    /** The nesting depth of the evaluation scope in the current thread. */
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** The number of the recently built markers which are kept even if they are unreachable. */
+    static final int PINNED = 256;
+
+    /** The secret prefix. */
+    private final String prefix;
+
+    /** The shared markers by identifier. */
+    private final Map<Long, Reference<T>> shared = new ConcurrentHashMap();
+
+    /** The released markers. */
+    private final ReferenceQueue<Marker<T>> released = new ReferenceQueue();
+
+    /** The shared markers by styling, the styling is compared by identity. */
+    private final Map<Consumer<T>, WeakReference<Marker<T>>> interned = Collections.synchronizedMap(new WeakHashMap());
+
+    /** The recently built markers. */
+    private final AtomicReferenceArray<Marker<T>> pinned = new AtomicReferenceArray(PINNED);
+
+    /** The next position of pinned markers. */
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /** The scoped stylings of the current evaluation. */
+    private final ThreadLocal<Scope<T>> scope = new ThreadLocal();
+
+    /**
+     * @param prefix A secret prefix.
+     */
+    StyleRegistry(String prefix) {
+        this.prefix = prefix;
+
+        registries.add(this);
+    }
+
+    /**
+     * Register the shared styling and build its marker.
+     * 
+     * @param styling A styling.
+     * @return A marker.
+     */
+    Marker<T> register(Consumer<T> styling) {
+        return register(styling, false);
+    }
+
+    /**
+     * Register the styling and build its marker.
+     * 
+     * @param styling A styling.
+     * @param ephemeral If true, the styling which is registered in evaluation is released when the
+     *            evaluation ends. Otherwise it is released when the marker becomes unreachable.
+     * @return A marker.
+     */
+    Marker<T> register(Consumer<T> styling, boolean ephemeral) {
+        Scope<T> local = ephemeral ? scope() : null;
+
+        if (local != null) {
+            return local.interned.computeIfAbsent(styling, key -> {
+                long id = NUM.getAndIncrement();
+                Marker<T> marker = new Marker(id, encode(id), key);
+                local.markers.put(marker.id, marker);
+                return marker;
+            });
+        }
+
+        expunge();
+        synchronized (interned) {
+            WeakReference<Marker<T>> reference = interned.get(styling);
+            Marker<T> marker = reference == null ? null : reference.get();
+
+            if (marker == null) {
+                long id = NUM.getAndIncrement();
+                marker = new Marker(id, encode(id), styling);
+                shared.put(id, new Reference(marker, released));
+                interned.put(styling, new WeakReference(marker));
+            }
+            pinned.set(Math.floorMod(cursor.getAndIncrement(), PINNED), marker);
+            return marker;
+        }
+    }
+
+    /**
+     * Remove the released markers.
+     */
+    private void expunge() {
+        java.lang.ref.Reference<? extends Marker<T>> reference;
+        while ((reference = released.poll()) != null) {
+            shared.remove(((Reference) reference).id, reference);
+        }
+    }
+
+    /**
+     * Compute the number of the shared markers.
+     * 
+     * @return A size.
+     */
+    int size() {
+        expunge();
+        return shared.size();
+    }
+
+    /**
+     * Find the scope of the current evaluation.
+     * 
+     * @return The scope, or null outside of evaluation.
+     */
+    private Scope<T> scope() {
+        Scope<T> local = scope.get();
+
+        if (local == null && 0 < depth.get()[0]) {
+            local = new Scope();
+            scope.set(local);
+        }
+        return local;
+    }
+
+    /**
+     * Apply all leading styles and strip their markers.
+     * 
+     * @param target A styling target.
+     * @param text A text which may start with markers.
+     * @return A text without the leading markers.
+     */
+    String apply(T target, String text) {
+        int offset = 0;
+        int length = prefix.length() + WIDTH;
+
+        while (offset + length <= text.length() && text.startsWith(prefix, offset)) {
+            long id = decode(text, offset + prefix.length());
+            Consumer<T> styling = find(id);
+
+            if (styling == null) {
+                throw new IllegalStateException("Style [" + text.substring(offset, offset + length)
+                        + "] is unknown or already released, the style built in evaluation is available only in the same evaluation.");
+            }
+            styling.accept(target);
+            offset += length;
+        }
+        return offset == 0 ? text : text.substring(offset);
+    }
+
+    /**
+     * Find the styling by identifier.
+     * 
+     * @param id An identifier.
+     * @return A styling or null.
+     */
+    private Consumer<T> find(long id) {
+        Scope<T> local = scope.get();
+        if (local != null) {
+            Marker<T> marker = local.markers.get(id);
+
+            if (marker != null) {
+                return marker.styling;
+            }
+        }
+
+        Reference<T> reference = shared.get(id);
+        Marker<T> marker = reference == null ? null : reference.get();
+        return marker == null ? null : marker.styling;
+    }
+
+    /**
+     * Encode the identifier to the fixed width marker.
+     * 
+     * @param id An identifier.
+     * @return A marker text.
+     */
+    private String encode(long id) {
+        String encoded = Long.toString(id, RADIX);
+
+        if (WIDTH < encoded.length()) {
+            throw new IllegalStateException("Style identifier is exhausted.");
+        }
+
+        StringBuilder builder = new StringBuilder(prefix.length() + WIDTH).append(prefix);
+        for (int i = encoded.length(); i < WIDTH; i++) {
+            builder.append('0');
+        }
+        return builder.append(encoded).toString();
+    }
+
+    /**
+     * Decode the fixed width identifier at the specified position.
+     * 
+     * @param text A text.
+     * @param start A start position.
+     * @return An identifier, or -1 when it is malformed.
+     */
+    private static long decode(String text, int start) {
+        long id = 0;
+        for (int i = start; i < start + WIDTH; i++) {
+            int digit = Character.digit(text.charAt(i), RADIX);
+
+            if (digit < 0) {
+                return -1;
+            }
+            id = id * RADIX + digit;
+        }
+        return id;
+    }
+
+    /**
+     * Open the evaluation scope in the current thread. The ephemeral styles which are built until
+     * {@link #exit()} belong to this scope.
+     */
+    static void enter() {
+        depth.get()[0]++;
+    }
+
+    /**
+     * Close the evaluation scope in the current thread and release all styles in it.
+     */
+    static void exit() {
+        int[] count = depth.get();
+
+        if (--count[0] == 0) {
+            for (StyleRegistry registry : registries) {
+                registry.scope.remove();
+            }
+            depth.remove();
+        }
+    }
+
+    /**
+     * The registered styling and its marker text. The style object holds it to keep the styling
+     * alive.
+     */
+    static final class Marker<T> {
+
+        /** The identifier. */
+        private final long id;
+
+        /** The marker text. */
+        private final String text;
+
+        /** The styling. */
+        private final Consumer<T> styling;
+
+        /**
+         * @param id
+         * @param text
+         * @param styling
+         */
+        private Marker(long id, String text, Consumer<T> styling) {
+            this.id = id;
+            this.text = text;
+            this.styling = styling;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * The weak reference to the shared marker.
+     */
+    private static class Reference<T> extends WeakReference<Marker<T>> {
+
+        /** The identifier. */
+        private final long id;
+
+        /**
+         * @param marker
+         * @param queue
+         */
+        private Reference(Marker<T> marker, ReferenceQueue<Marker<T>> queue) {
+            super(marker, queue);
+            this.id = marker.id;
+        }
+    }
+
+    /**
+     * The stylings which belong to one evaluation.
+     */
+    private static class Scope<T> {
+
+        /** The markers by identifier. */
+        private final Map<Long, Marker<T>> markers = new HashMap();
+
+        /** The markers by styling. */
+        private final Map<Consumer<T>, Marker<T>> interned = new HashMap();
+    }
+}
\ No newline at end of file
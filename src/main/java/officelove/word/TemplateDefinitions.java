@@ -14,6 +14,13 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 import kiss.I;
 import kiss.Managed;
@@ -71,6 +78,81 @@ public abstract class TemplateDefinitions<T> {
         evaluate(templatable, context).save(file);
     }
 
+    /**
+     * Print the evaluated document asynchronously on the I/O executor.
+     * 
+     * @return The completion.
+     */
+    protected final CompletableFuture<Void> printDocAsync(Templatable templatable, String printer, List context, T data) {
+        return Word.async(() -> {
+            printDoc(templatable, printer, context, data);
+            return null;
+        }, Word.io());
+    }
+
+    /**
+     * Publish the evaluated document asynchronously on the I/O executor.
+     * 
+     * @param file
+     * @return The published file.
+     */
+    protected final CompletableFuture<File> publishDocAsync(Templatable templatable, File file, List context, T data) {
+        return Word.async(() -> {
+            publishDoc(templatable, file, context, data);
+            return file;
+        }, Word.io());
+    }
+
+    /**
+     * Publish the evaluated documents concurrently. Each document is evaluated on its own virtual
+     * thread, at most {@link #parallelism()} documents at once, and the source signal is blocked
+     * while all permits are in use.
+     * 
+     * @param templatable A target template.
+     * @param contexts A source of contexts.
+     * @param destination A mapper from context to the output file.
+     * @param builder A mapper from context to the context list.
+     * @return The failures by the zero-based index of context in the source, in ascending order.
+     */
+    protected final <C> Map<Integer, Throwable> publishAll(Templatable<?> templatable, Signal<C> contexts, Function<C, File> destination,
+            Function<C, List> builder) {
+        Map<Integer, Throwable> failures = new ConcurrentSkipListMap();
+        Semaphore permits = new Semaphore(Math.max(1, parallelism()));
+        Throwable[] error = new Throwable[1];
+        int[] counter = new int[1];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            contexts.to(context -> {
+                int index = counter[0]++;
+
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        publishDoc(templatable, destination.apply(context), builder.apply(context), templatable.data);
+                    } catch (Throwable e) {
+                        failures.put(index, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }, e -> error[0] = e);
+        }
+
+        if (error[0] != null) {
+            throw I.quiet(error[0]);
+        }
+        return failures;
+    }
+
+    /**
+     * Configure the maximum number of documents which are evaluated concurrently in batch.
+     * 
+     * @return
+     */
+    protected int parallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     /**
      * Evaluate the template and create document.
      * 
@@ -264,6 +346,25 @@ public abstract class TemplateDefinitions<T> {
         public void publish(File file) {
             publishDoc(this, file, new ArrayList(), data);
         }
+
+        /**
+         * Print the evaluated document asynchronously.
+         * 
+         * @return The completion.
+         */
+        public CompletableFuture<Void> printAsync() {
+            return printDocAsync(this, selectPrinter(data), new ArrayList(), data);
+        }
+
+        /**
+         * Publish the evaluated document asynchronously.
+         * 
+         * @param file
+         * @return The published file.
+         */
+        public CompletableFuture<File> publishAsync(File file) {
+            return publishDocAsync(this, file, new ArrayList(), data);
+        }
     }
 
     /**
@@ -307,6 +408,36 @@ public abstract class TemplateDefinitions<T> {
         public void publish(File file, C1 context1) {
             publishDoc(this, file, I.list(context1), data);
         }
+
+        /**
+         * Print the evaluated document asynchronously.
+         * 
+         * @return The completion.
+         */
+        public CompletableFuture<Void> printAsync(C1 context1) {
+            return printDocAsync(this, selectPrinter(data), I.list(context1), data);
+        }
+
+        /**
+         * Publish the evaluated document asynchronously.
+         * 
+         * @param file
+         * @return The published file.
+         */
+        public CompletableFuture<File> publishAsync(File file, C1 context1) {
+            return publishDocAsync(this, file, I.list(context1), data);
+        }
+
+        /**
+         * Publish the evaluated documents concurrently. The failed documents don't abort the batch.
+         * 
+         * @param contexts A source of contexts.
+         * @param destination A mapper from context to the output file.
+         * @return The failures by the zero-based index of context in the source, in ascending order.
+         */
+        public Map<Integer, Throwable> publishAll(Signal<C1> contexts, Function<C1, File> destination) {
+            return TemplateDefinitions.this.publishAll(this, contexts, destination, context1 -> I.list(context1));
+        }
     }
 
     /**
@@ -350,6 +481,25 @@ public abstract class TemplateDefinitions<T> {
         public void publish(File file, C1 context1, C2 context2) {
             publishDoc(this, file, I.list(context1, context2), data);
         }
+
+        /**
+         * Print the evaluated document asynchronously.
+         * 
+         * @return The completion.
+         */
+        public CompletableFuture<Void> printAsync(C1 context1, C2 context2) {
+            return printDocAsync(this, selectPrinter(data), I.list(context1, context2), data);
+        }
+
+        /**
+         * Publish the evaluated document asynchronously.
+         * 
+         * @param file
+         * @return The published file.
+         */
+        public CompletableFuture<File> publishAsync(File file, C1 context1, C2 context2) {
+            return publishDocAsync(this, file, I.list(context1, context2), data);
+        }
     }
 
     /**
@@ -393,6 +543,25 @@ public abstract class TemplateDefinitions<T> {
         public void publish(File file, C1 context1, C2 context2, C3 context3) {
             publishDoc(this, file, I.list(context1, context2, context3), data);
         }
+
+        /**
+         * Print the evaluated document asynchronously.
+         * 
+         * @return The completion.
+         */
+        public CompletableFuture<Void> printAsync(C1 context1, C2 context2, C3 context3) {
+            return printDocAsync(this, selectPrinter(data), I.list(context1, context2, context3), data);
+        }
+
+        /**
+         * Publish the evaluated document asynchronously.
+         * 
+         * @param file
+         * @return The published file.
+         */
+        public CompletableFuture<File> publishAsync(File file, C1 context1, C2 context2, C3 context3) {
+            return publishDocAsync(this, file, I.list(context1, context2, context3), data);
+        }
     }
 
     /**
@@ -436,6 +605,25 @@ public abstract class TemplateDefinitions<T> {
         public void publish(File file, C1 context1, C2 context2, C3 context3, C4 context4) {
             publishDoc(this, file, I.list(context1, context2, context3, context4), data);
         }
+
+        /**
+         * Print the evaluated document asynchronously.
+         * 
+         * @return The completion.
+         */
+        public CompletableFuture<Void> printAsync(C1 context1, C2 context2, C3 context3, C4 context4) {
+            return printDocAsync(this, selectPrinter(data), I.list(context1, context2, context3, context4), data);
+        }
+
+        /**
+         * Publish the evaluated document asynchronously.
+         * 
+         * @param file
+         * @return The published file.
+         */
+        public CompletableFuture<File> publishAsync(File file, C1 context1, C2 context2, C3 context3, C4 context4) {
+            return publishDocAsync(this, file, I.list(context1, context2, context3, context4), data);
+        }
     }
 
     /**
@@ -479,5 +667,24 @@ public abstract class TemplateDefinitions<T> {
         public void publish(File file, C1 context1, C2 context2, C3 context3, C4 context4, C5 context5) {
             publishDoc(this, file, I.list(context1, context2, context3, context4, context5), data);
         }
+
+        /**
+         * Print the evaluated document asynchronously.
+         * 
+         * @return The completion.
+         */
+        public CompletableFuture<Void> printAsync(C1 context1, C2 context2, C3 context3, C4 context4, C5 context5) {
+            return printDocAsync(this, selectPrinter(data), I.list(context1, context2, context3, context4, context5), data);
+        }
+
+        /**
+         * Publish the evaluated document asynchronously.
+         * 
+         * @param file
+         * @return The published file.
+         */
+        public CompletableFuture<File> publishAsync(File file, C1 context1, C2 context2, C3 context3, C4 context4, C5 context5) {
+            return publishDocAsync(this, file, I.list(context1, context2, context3, context4, context5), data);
+        }
     }
 }
\ No newline at end of file
@@ -11,23 +11,31 @@ package officelove.word;
 
 import java.awt.Desktop;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.net.URL;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.apache.poi.xwpf.usermodel.BodyType;
 import org.apache.poi.xwpf.usermodel.IBodyElement;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFFooter;
-import org.apache.poi.xwpf.usermodel.XWPFHeader;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
 import org.apache.poi.xwpf.usermodel.XWPFTable;
@@ -40,14 +48,11 @@ import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTP;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPageMar;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPageSz;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSectPr;
-import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTextDirection;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.STPageOrientation;
-import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTextDirection;
 
 import kiss.I;
 import kiss.Observer;
 import kiss.Signal;
-import kiss.WiseSupplier;
 import officelove.LibreOffice;
 import officelove.expression.ExpressionException;
 import officelove.expression.Parser;
@@ -60,14 +65,23 @@ public class Word {
         I.load(LibreOffice.class);
     }
 
+    /** The bounded executor for the asynchronous I/O, the task is rejected when it is full. */
+    private static volatile ExecutorService IO = createExecutor(Math.max(2, Runtime.getRuntime().availableProcessors()), 64);
+
     /** The culculated document. */
     protected XWPFDocument calculated;
 
     /** The template file name. */
     private final String name;
 
-    /** The context. */
-    private final CalculationContext context = new CalculationContext();
+    /** The compiled template. */
+    private WordTemplate template;
+
+    /** The flag whether the document is still same as the compiled template or not. */
+    private boolean pristine;
+
+    /** The context of the current evaluation. */
+    private CalculationContext context = new CalculationContext();
 
     /** The text direction. */
     private boolean textIsVerticalAlign;
@@ -107,7 +121,7 @@ public class Word {
      * @param file
      */
     public Word(File file) {
-        this(file.absolutize().toString(), file::newInputStream);
+        this(WordTemplate.of(file));
     }
 
     /**
@@ -116,30 +130,20 @@ public class Word {
      * @param file
      */
     public Word(URL file) {
-        this(URLDecoder.decode(file.toString(), StandardCharsets.UTF_8), file::openStream);
+        this(WordTemplate.of(file));
     }
 
     /**
-     * Create template for word.
+     * Create document from the compiled template.
      * 
-     * @param name
-     * @param input
+     * @param template
      */
-    private Word(String name, WiseSupplier<InputStream> input) {
-        try {
-            this.name = name;
-            this.calculated = new XWPFDocument(input.get());
-
-            CTTextDirection direction = calculated.getDocument().getBody().getSectPr().getTextDirection();
-
-            if (direction != null) {
-                this.textIsVerticalAlign = direction.getVal() == STTextDirection.TB_RL;
-            } else {
-                this.textIsVerticalAlign = false;
-            }
-        } catch (Throwable e) {
-            throw I.quiet(e);
-        }
+    Word(WordTemplate template) {
+        this.name = template.name;
+        this.template = template;
+        this.calculated = template.document();
+        this.textIsVerticalAlign = template.textIsVerticalAlign;
+        this.pristine = true;
     }
 
     /**
@@ -148,17 +152,24 @@ public class Word {
      * @return POI document.
      */
     public XWPFDocument docment() {
+        // the document may be modified by user
+        pristine = false;
+
         return calculated;
     }
 
     public boolean validate(List<Class> models) {
+        StyleRegistry.enter();
         try {
+            context = new CalculationContext();
             context.parser = new Parser(models);
 
             replace(calculated);
             return true;
         } catch (ExpressionException e) {
             throw e.location(name);
+        } finally {
+            StyleRegistry.exit();
         }
     }
 
@@ -205,6 +216,7 @@ public class Word {
      * Copy all pages.
      */
     public Word copy(int number) {
+        pristine = false;
         List<IBodyElement> copy = copy(calculated.getBodyElements());
 
         for (int i = 0; i < number - 1; i++) {
@@ -276,8 +288,10 @@ public class Word {
      */
     public Word evaluate(List models) {
         // calculate variables
+        context = new CalculationContext();
         context.parser = new Parser(models, textIsVerticalAlign);
 
+        StyleRegistry.enter();
         try {
             replace(calculated);
 
@@ -289,6 +303,9 @@ public class Word {
         } catch (Throwable e) {
             I.error(e);
             throw e;
+        } finally {
+            // release the styles which are built in this evaluation
+            StyleRegistry.exit();
         }
     }
 
@@ -320,11 +337,20 @@ public class Word {
         evaluate(models.get(0), additions);
 
         for (int i = 1; i < models.size(); i++) {
-            merge(new Word(name).evaluate(models.get(i), additions));
+            merge(renew().evaluate(models.get(i), additions));
         }
         return this;
     }
 
+    /**
+     * Create the new document from the same template.
+     * 
+     * @return
+     */
+    private Word renew() {
+        return template == null ? new Word(name) : new Word(template);
+    }
+
     /**
      * Merge the specified {@link Word} to this document.
      * 
@@ -332,8 +358,11 @@ public class Word {
      * @return
      */
     public Word merge(Word after) {
+        pristine = false;
+
         if (calculated.getBodyElements().isEmpty()) {
             calculated = after.calculated;
+            template = after.template;
         } else {
             merge(after.calculated.getBodyElements());
         }
@@ -400,6 +429,25 @@ public class Word {
         return this;
     }
 
+    /**
+     * Print document with the given variables asynchronously.
+     * 
+     * @return The completion.
+     */
+    public CompletableFuture<Word> printAsync() {
+        return printAsync(IO);
+    }
+
+    /**
+     * Print document with the given variables asynchronously.
+     * 
+     * @param executor An executor to print.
+     * @return The completion.
+     */
+    public CompletableFuture<Word> printAsync(Executor executor) {
+        return async(this::print, executor);
+    }
+
     /**
      * Open document with the given variables.
      * 
@@ -436,9 +484,18 @@ public class Word {
         if (overwrite == true || output.isAbsent()) {
             String extension = output.extension();
             if (extension.equals("pdf")) {
-                File input = Locator.temporaryFile();
-                save(input);
-                LibreOffice.convert(input, output);
+                // the conversion may fail, so the existing file is replaced only by the complete one
+                File converted = Locator.temporaryFile(output.name());
+                try {
+                    try (OutputStream stream = converted.newOutputStream()) {
+                        writePdf(stream);
+                    }
+                    converted.moveTo(output);
+                } catch (IOException e) {
+                    throw I.quiet(e);
+                } finally {
+                    converted.delete();
+                }
             } else {
                 try (OutputStream stream = output.newOutputStream()) {
                     calculated.write(stream);
@@ -451,6 +508,106 @@ public class Word {
         return this;
     }
 
+    /**
+     * Save this document to the specified {@link Path} asynchronously.
+     * 
+     * @param output
+     * @return The completion.
+     */
+    public CompletableFuture<Word> saveAsync(File output) {
+        return saveAsync(output, IO);
+    }
+
+    /**
+     * Save this document to the specified {@link Path} asynchronously.
+     * 
+     * @param output
+     * @param executor An executor to save.
+     * @return The completion.
+     */
+    public CompletableFuture<Word> saveAsync(File output, Executor executor) {
+        return async(() -> save(output), executor);
+    }
+
+    /**
+     * Write this document as PDF to the specified stream. The intermediate files are placed in the
+     * RAM-backed scratch area when it is available.
+     * 
+     * @param output
+     * @return Chainable API.
+     */
+    public Word writePdf(OutputStream output) {
+        LibreOffice.convert(calculated::write, "docx", output, "pdf");
+
+        return this;
+    }
+
+    /**
+     * Configure the executor for the asynchronous I/O. The tasks which are already submitted are
+     * completed by the previous executor.
+     * 
+     * @param size The number of threads.
+     * @param backlog The number of waiting tasks per thread. The task which exceeds it is failed
+     *            with {@link RejectedExecutionException}.
+     */
+    public static void configureAsync(int size, int backlog) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+
+        if (backlog < 1) {
+            throw new IllegalArgumentException("Backlog must be positive.");
+        }
+
+        ExecutorService previous = IO;
+        IO = createExecutor(size, backlog);
+        previous.shutdown();
+    }
+
+    /**
+     * Get the executor for the asynchronous I/O.
+     * 
+     * @return
+     */
+    static Executor io() {
+        return IO;
+    }
+
+    /**
+     * Run the task asynchronously. The rejected task is reported by the failed future instead of
+     * running on the caller thread.
+     * 
+     * @param task A task.
+     * @param executor An executor.
+     * @return The completion.
+     */
+    static <T> CompletableFuture<T> async(Supplier<T> task, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Create the bounded executor for the asynchronous I/O.
+     * 
+     * @param size The number of threads.
+     * @param backlog The number of waiting tasks per thread.
+     * @return
+     */
+    private static ExecutorService createExecutor(int size, int backlog) {
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue(size * backlog);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS, queue, task -> {
+            Thread thread = new Thread(task, "Officelove I/O");
+            thread.setDaemon(true);
+            return thread;
+        }, new AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
     /**
      * Replace variable text.
      * 
@@ -458,31 +615,27 @@ public class Word {
      * @param object
      */
     private void replace(XWPFDocument doc) {
+        context.ordinal = 0;
+
         // for paragraph
-        for (XWPFParagraph para : copy(doc.getParagraphs())) {
-            replace(para);
-        }
+        each(doc.getParagraphs(), this::replace);
 
         // for table
-        for (XWPFTable table : copy(doc.getTables())) {
-            replace(table);
-        }
+        each(doc.getTables(), this::replace);
 
         // for header
-        for (XWPFHeader header : copy(doc.getHeaderList())) {
-            for (XWPFParagraph para : copy(header.getParagraphs())) {
-                replace(para);
-            }
-        }
+        each(doc.getHeaderList(), header -> each(header.getParagraphs(), this::replace));
 
         // for footer
-        for (XWPFFooter footer : copy(doc.getFooterList())) {
-            for (XWPFParagraph para : copy(footer.getParagraphs())) {
-                replace(para);
-            }
-        }
+        each(doc.getFooterList(), footer -> each(footer.getParagraphs(), this::replace));
 
         // for textbox
+
+        // apply structural edits
+        context.apply();
+
+        // the ordinals are not valid anymore
+        pristine = false;
     }
 
     /**
@@ -491,19 +644,13 @@ public class Word {
      * @param table
      */
     private void replace(XWPFTable table) {
-        for (XWPFTableRow row : copy(table.getRows())) {
-            for (XWPFTableCell cell : copy(row.getTableCells())) {
-                context.cell = cell;
-                for (XWPFParagraph para : copy(cell.getParagraphs())) {
-                    replace(para);
-                }
-                context.cell = null;
+        each(table.getRows(), row -> each(row.getTableCells(), cell -> {
+            context.cell = cell;
+            each(cell.getParagraphs(), this::replace);
+            context.cell = null;
 
-                for (XWPFTable innerTable : copy((cell.getTables()))) {
-                    replace(innerTable);
-                }
-            }
-        }
+            each(cell.getTables(), this::replace);
+        }));
     }
 
     /**
@@ -513,6 +660,14 @@ public class Word {
      * @param object
      */
     private void replace(XWPFParagraph para) {
+        int ordinal = context.ordinal++;
+
+        // skip the static paragraph outside of block
+        if (pristine && context.block instanceof CalculationContext.Normal && !template.dynamic(ordinal)) {
+            return;
+        }
+        context.normalized = pristine && template.normalized(ordinal);
+
         context.isStartConditinalBlock(para);
         context.block.process(para);
         context.isEndConditionalBlock(para);
@@ -602,29 +757,18 @@ public class Word {
     }
 
     /**
-     * Avoid {@link ConcurrentModificationException}.
+     * Traverse the live list by index. The blocks insert the new elements only before the current
+     * element and defer all removals, so the inserted elements are skipped without copying list.
      * 
-     * @param list A copy list items.
-     * @return A copied list.
+     * @param list A live list.
+     * @param action An action for each item.
      */
-    private static <T> List<T> copy(List<T> list, T start, T end) {
-        boolean take = false;
-        List<T> copy = new ArrayList();
-
-        for (T item : list) {
-            if (!take && start == item) {
-                take = true;
-            }
-
-            if (take) {
-                copy.add(item);
-            }
-
-            if (take && end == item) {
-                break;
-            }
+    private static <T> void each(List<T> list, Consumer<T> action) {
+        for (int i = 0; i < list.size(); i++) {
+            int size = list.size();
+            action.accept(list.get(i));
+            i += list.size() - size;
         }
-        return copy;
     }
 
     /**
@@ -933,6 +1077,75 @@ public class Word {
         /** The current processing cell. */
         private XWPFTableCell cell;
 
+        /** The ordinal of the current processing paragraph. */
+        private int ordinal;
+
+        /** The flag whether the current paragraph has no expression across runs. */
+        private boolean normalized;
+
+        /** The elements which are removed after traversal. */
+        private final Set<Object> removals = Collections.newSetFromMap(new IdentityHashMap());
+
+        /** The containers of the removed elements. */
+        private final Set<Object> containers = Collections.newSetFromMap(new IdentityHashMap());
+
+        /** The deferred edits which run after removal. */
+        private final List<Runnable> finishers = new ArrayList();
+
+        /**
+         * Remove the specified elements after traversal.
+         * 
+         * @param container A document, table cell or table.
+         * @param elements A list of paragraphs or rows.
+         */
+        private void remove(Object container, List elements) {
+            containers.add(container);
+            removals.addAll(elements);
+        }
+
+        /**
+         * Apply all deferred structural edits, each container is scanned only once backward.
+         */
+        private void apply() {
+            for (Object container : containers) {
+                if (container instanceof XWPFDocument doc) {
+                    List<IBodyElement> elements = doc.getBodyElements();
+                    for (int i = elements.size() - 1; 0 <= i; i--) {
+                        if (removals.contains(elements.get(i))) {
+                            doc.removeBodyElement(i);
+                        }
+                    }
+                } else if (container instanceof XWPFTableCell cell) {
+                    List<XWPFParagraph> paragraphs = cell.getParagraphs();
+                    for (int i = paragraphs.size() - 1; 0 <= i; i--) {
+                        if (removals.contains(paragraphs.get(i))) {
+                            cell.removeParagraph(i);
+                        }
+                    }
+                }
+            }
+
+            for (Runnable finisher : finishers) {
+                finisher.run();
+            }
+
+            // remove rows at last, the removed row may contain the edited cell
+            for (Object container : containers) {
+                if (container instanceof XWPFTable table) {
+                    List<XWPFTableRow> rows = table.getRows();
+                    for (int i = rows.size() - 1; 0 <= i; i--) {
+                        if (removals.contains(rows.get(i))) {
+                            table.removeRow(i);
+                        }
+                    }
+                }
+            }
+
+            removals.clear();
+            containers.clear();
+            finishers.clear();
+        }
+
         /**
          * @param paragraph
          */
@@ -941,14 +1154,9 @@ public class Word {
                 CTP context = paragraph.getCTP();
                 List<CTMarkupRange> starts = context.getCommentRangeStartList();
                 if (starts.size() != 0) {
-                    String special = "";
-                    String condition = paragraph.getDocument().getCommentByID(starts.get(0).getId().toString()).getText();
-                    int index = condition.indexOf("#");
-
-                    if (index != -1) {
-                        special = condition.substring(index + 1);
-                        condition = condition.substring(0, index);
-                    }
+                    String[] directive = directive(paragraph, starts.get(0).getId().toString());
+                    String condition = directive[0];
+                    String special = directive[1];
 
                     Object value = parser.resolve(condition);
 
@@ -995,6 +1203,22 @@ public class Word {
             }
         }
 
+        /**
+         * Resolve the block directive which is written in the specified comment.
+         * 
+         * @param paragraph
+         * @param id
+         * @return
+         */
+        private String[] directive(XWPFParagraph paragraph, String id) {
+            String[] directive = template == null ? null : template.directive(id);
+
+            if (directive == null) {
+                directive = WordTemplate.directive(paragraph.getDocument().getCommentByID(id).getText());
+            }
+            return directive;
+        }
+
         /**
          */
         public void isEndConditionalBlock(XWPFParagraph paragraph) {
@@ -1022,8 +1246,14 @@ public class Word {
             public void process(XWPFParagraph paragraph) {
                 for (int i = 0; i < paragraph.getRuns().size(); i++) {
                     XWPFRun run = paragraph.getRuns().get(i);
+                    String raw = run.getText(0);
+
+                    // skip the static run
+                    if (normalized && !template.dynamic(raw) && (raw == null || raw.indexOf('\n') == -1)) {
+                        continue;
+                    }
 
-                    String text = parser.apply(run.getText(0));
+                    String text = parser.apply(raw);
                     text = WordCellStyle.apply(context.cell, text);
 
                     int start = 0;
@@ -1090,11 +1320,8 @@ public class Word {
             /** The actual condition. */
             private final boolean condition;
 
-            /** The start index. */
-            private XWPFParagraph start;
-
-            /** The end index. */
-            private XWPFParagraph end;
+            /** The paragraphs in this block. */
+            private final List<XWPFParagraph> paragraphs = new ArrayList();
 
             /**
              * @param condition
@@ -1103,20 +1330,12 @@ public class Word {
                 this.condition = condition;
             }
 
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public void start(XWPFParagraph paragraph) {
-                start = paragraph;
-            }
-
             /**
              * {@inheritDoc}
              */
             @Override
             public void process(XWPFParagraph paragraph) {
-                // do nothing
+                paragraphs.add(paragraph);
             }
 
             /**
@@ -1124,28 +1343,18 @@ public class Word {
              */
             @Override
             public void end(XWPFParagraph paragraph) {
-                end = paragraph;
-
                 if (!condition) {
                     BodyType type = paragraph.getPartType();
 
                     if (type == BodyType.DOCUMENT) {
-                        XWPFDocument doc = paragraph.getDocument();
-
-                        for (XWPFParagraph para : copy(doc.getParagraphs(), start, end)) {
-                            doc.removeBodyElement(doc.getBodyElements().indexOf(para));
-                        }
+                        remove(paragraph.getDocument(), paragraphs);
                     } else if (type == BodyType.TABLECELL) {
-                        XWPFTableCell cell = (XWPFTableCell) paragraph.getBody();
-
-                        for (XWPFParagraph para : copy(cell.getParagraphs(), start, end)) {
+                        for (XWPFParagraph para : paragraphs) {
                             WordHeleper.clearText(para);
                         }
                     }
                 } else {
-                    XWPFDocument doc = paragraph.getDocument();
-
-                    for (XWPFParagraph para : copy(doc.getParagraphs(), start, end)) {
+                    for (XWPFParagraph para : paragraphs) {
                         for (XWPFRun run : para.getRuns()) {
                             WordHeleper.write(run, parser.apply(run.getText(0)));
                         }
@@ -1162,11 +1371,8 @@ public class Word {
             /** The loop items. */
             private final List items;
 
-            /** The start index. */
-            private XWPFParagraph start;
-
-            /** The end index. */
-            private XWPFParagraph end;
+            /** The paragraphs in this block. */
+            private final List<XWPFParagraph> paragraphs = new ArrayList();
 
             /**
              * @param items
@@ -1175,20 +1381,12 @@ public class Word {
                 this.items = items;
             }
 
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public void start(XWPFParagraph paragraph) {
-                start = paragraph;
-            }
-
             /**
              * {@inheritDoc}
              */
             @Override
             public void process(XWPFParagraph paragraph) {
-                // do nothing
+                paragraphs.add(paragraph);
             }
 
             /**
@@ -1196,21 +1394,15 @@ public class Word {
              */
             @Override
             public void end(XWPFParagraph paragraph) {
-                end = paragraph;
-
                 XWPFDocument doc = paragraph.getDocument();
-                List<XWPFParagraph> paragraphs = copy(doc.getParagraphs(), start, end);
                 XmlCursor index = paragraph.getCTP().newCursor();
 
                 for (Object item : items) {
                     for (XWPFParagraph para : paragraphs) {
-                        WordHeleper.copy(para, doc.insertNewParagraph(index.newCursor()), new Parser(List.of(item), textIsVerticalAlign));
+                        WordHeleper.copy(para, doc.insertNewParagraph(index.newCursor()), parser.with(List.of(item)));
                     }
                 }
-
-                for (XWPFParagraph para : paragraphs) {
-                    doc.removeBodyElement(doc.getPosOfParagraph(para));
-                }
+                remove(doc, paragraphs);
             }
         }
 
@@ -1225,11 +1417,8 @@ public class Word {
             /** The special command. */
             private final boolean keep;
 
-            /** The start index. */
-            private XWPFParagraph start;
-
-            /** The end index. */
-            private XWPFParagraph end;
+            /** The paragraphs in this block. */
+            private final List<XWPFParagraph> paragraphs = new ArrayList();
 
             /**
              * @param items
@@ -1239,20 +1428,12 @@ public class Word {
                 this.keep = command.equals("keepLine");
             }
 
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public void start(XWPFParagraph paragraph) {
-                start = paragraph;
-            }
-
             /**
              * {@inheritDoc}
              */
             @Override
             public void process(XWPFParagraph paragraph) {
-                // do nothing
+                paragraphs.add(paragraph);
             }
 
             /**
@@ -1260,33 +1441,29 @@ public class Word {
              */
             @Override
             public void end(XWPFParagraph paragraph) {
-                end = paragraph;
-
                 XWPFTableCell cell = (XWPFTableCell) paragraph.getBody();
-                List<XWPFParagraph> paragraphs = copy(cell.getParagraphs(), start, end);
                 XmlCursor index = paragraph.getCTP().newCursor();
 
                 for (Object item : items) {
                     for (XWPFParagraph para : paragraphs) {
-                        WordHeleper.copy(para, cell.insertNewParagraph(index.newCursor()), new Parser(List.of(item), textIsVerticalAlign));
+                        WordHeleper.copy(para, cell.insertNewParagraph(index.newCursor()), parser.with(List.of(item)));
                     }
                 }
-
-                for (XWPFParagraph para : paragraphs) {
-                    cell.removeParagraph(cell.getParagraphs().indexOf(para));
-                }
+                remove(cell, paragraphs);
 
                 if (keep) {
-                    for (int i = 0; i < items.size() - 1; i++) {
-                        List<XWPFParagraph> list = cell.getParagraphs();
-                        int pos = list.size() - 1;
-                        XWPFParagraph last = list.get(pos);
-                        String text = last.getText();
-
-                        if (text.equals("")) {
-                            cell.removeParagraph(pos);
+                    finishers.add(() -> {
+                        for (int i = 0; i < items.size() - 1; i++) {
+                            List<XWPFParagraph> list = cell.getParagraphs();
+                            int pos = list.size() - 1;
+                            XWPFParagraph last = list.get(pos);
+                            String text = last.getText();
+
+                            if (text.equals("")) {
+                                cell.removeParagraph(pos);
+                            }
                         }
-                    }
+                    });
                 }
             }
         }
@@ -1337,19 +1514,17 @@ public class Word {
                 end = ((XWPFTableCell) paragraph.getBody()).getTableRow();
 
                 XWPFTable table = start.getTable();
-                List<XWPFTableRow> rows = copy(table.getRows(), start, end);
                 int start = table.getRows().indexOf(end);
+                List<XWPFTableRow> rows = new ArrayList(table.getRows().subList(table.getRows().indexOf(this.start), start + 1));
 
                 for (int count = 0; count < items.size(); count++) {
                     for (int offset = 0; offset < rows.size(); offset++) {
-                        WordHeleper.copy(rows.get(offset), table.insertNewTableRow(start + count * rows.size() + offset), new Parser(List
-                                .of(items.get(count)), textIsVerticalAlign));
+                        WordHeleper.copy(rows.get(offset), table.insertNewTableRow(start + count * rows.size() + offset), parser
+                                .with(List.of(items.get(count))));
                     }
                 }
 
-                for (XWPFTableRow row : rows) {
-                    table.removeRow(table.getRows().indexOf(row));
-                }
+                remove(table, rows);
             }
         }
     }
@@ -9,37 +9,23 @@
  */
 package officelove.word;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.poi.xwpf.usermodel.XWPFTableCell;
 
 public class WordCellStyle {
 
-    /** The secret prefix. */
-    private static final String PREFIX = "LOVOFFICE_WORD_TABLE_CELL_STYLE_";
-
-    /** The magic number. */
-    private static int NUM = 0;
-
     /** The managed styles. */
-    private static final Map<String, WordCellStyle> styles = new HashMap();
-
-    /** The identifier for this style. */
-    private final String id;
+    private static final StyleRegistry<XWPFTableCell> registry = new StyleRegistry("LOVOFFICE_WORD_TABLE_CELL_STYLE_");
 
-    /** The actual style builder. */
-    private final Consumer<XWPFTableCell> styling;
+    /** The marker of this style, it keeps the styling alive. */
+    private final StyleRegistry.Marker<XWPFTableCell> marker;
 
     /**
-     * @param styling
+     * @param marker
      */
-    private WordCellStyle(Consumer<XWPFTableCell> styling) {
-        this.id = PREFIX + String.format("%06d", NUM++);
-        this.styling = styling;
-
-        styles.put(id, this);
+    private WordCellStyle(StyleRegistry.Marker<XWPFTableCell> marker) {
+        this.marker = marker;
     }
 
     /**
@@ -47,7 +33,7 @@ public class WordCellStyle {
      */
     @Override
     public final String toString() {
-        return id;
+        return marker.toString();
     }
 
     /**
@@ -57,7 +43,19 @@ public class WordCellStyle {
      * @return
      */
     public static WordCellStyle of(Consumer<XWPFTableCell> styling) {
-        return new WordCellStyle(styling);
+        return new WordCellStyle(registry.register(styling));
+    }
+
+    /**
+     * Build new style which is released when the current evaluation ends. It is useful for the
+     * style which is built for each evaluation. Outside of evaluation, it is same as
+     * {@link #of(Consumer)}.
+     * 
+     * @param styling
+     * @return
+     */
+    public static WordCellStyle ephemeral(Consumer<XWPFTableCell> styling) {
+        return new WordCellStyle(registry.register(styling, true));
     }
 
     /**
@@ -66,11 +64,6 @@ public class WordCellStyle {
      * @param in
      */
     static String apply(XWPFTableCell in, String text) {
-        while (text.startsWith(PREFIX)) {
-            String id = text.substring(0, PREFIX.length() + 6);
-            text = text.substring(PREFIX.length() + 6);
-            styles.get(id).styling.accept(in);
-        }
-        return text;
+        return registry.apply(in, text);
     }
 }
\ No newline at end of file
@@ -9,8 +9,13 @@
  */
 package officelove.word;
 
-import java.io.ByteArrayInputStream;
 import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.UnaryOperator;
 
 import javax.xml.namespace.QName;
@@ -59,6 +64,13 @@ import kiss.Variable;
 
 public class WordHeleper {
 
+    /**
+     * The relation ids of the copied pictures by content digest in each document.
+     * {@link XWPFDocument} doesn't override the equality, so the document is held by identity and
+     * weakly. Only the digests are kept, so the source documents are never retained.
+     */
+    private static final Map<XWPFDocument, Map<String, String>> pictures = Collections.synchronizedMap(new WeakHashMap());
+
     /**
      * 
      */
@@ -291,8 +303,7 @@ public class WordHeleper {
         // copy image
         for (XWPFPicture inPicture : in.getEmbeddedPictures()) {
             try {
-                XWPFPictureData inData = inPicture.getPictureData();
-                String outId = out.getDocument().addPictureData(new ByteArrayInputStream(inData.getData()), inData.getPictureType());
+                String outId = copy(inPicture.getPictureData(), out.getDocument());
 
                 select(CTBlip.class, outCTR).to(blip -> blip.setEmbed(outId));
             } catch (Exception e) {
@@ -304,6 +315,47 @@ public class WordHeleper {
         write(out, converter.apply(in.text()));
     }
 
+    /**
+     * Helper method to copy the picture data into the specified document. The picture which is
+     * already in the document is reused by the content digest.
+     * 
+     * @param data
+     * @param document
+     * @return The relation id in the specified document.
+     */
+    private static String copy(XWPFPictureData data, XWPFDocument document) throws Exception {
+        // the picture of the same document
+        String id = document.getRelationId(data);
+        if (id != null) {
+            return id;
+        }
+
+        String digest = digest(data);
+        Map<String, String> ids = pictures.computeIfAbsent(document, key -> new HashMap());
+        synchronized (ids) {
+            id = ids.get(digest);
+            if (id == null) {
+                id = document.addPictureData(data.getData(), data.getPictureType());
+                ids.put(digest, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Compute the content digest of the picture data.
+     * 
+     * @param data
+     * @return
+     */
+    private static String digest(XWPFPictureData data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data.getData()));
+        } catch (Exception e) {
+            throw I.quiet(e);
+        }
+    }
+
     /**
      * Select node by XPath.
      * 
@@ -9,37 +9,23 @@
  */
 package officelove.word;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.poi.xwpf.usermodel.XWPFRun;
 
 public class WordStyle {
 
-    /** The secret prefix. */
-    private static final String PREFIX = "LOVOFFICE_WORD_STYLE_";
-
-    /** The magic number. */
-    private static int NUM = 0;
-
     /** The managed styles. */
-    private static final Map<String, WordStyle> styles = new HashMap();
-
-    /** The identifier for this style. */
-    private final String id;
+    private static final StyleRegistry<XWPFRun> registry = new StyleRegistry("LOVOFFICE_WORD_STYLE_");
 
-    /** The actual style builder. */
-    private final Consumer<XWPFRun> styling;
+    /** The marker of this style, it keeps the styling alive. */
+    private final StyleRegistry.Marker<XWPFRun> marker;
 
     /**
-     * @param styling
+     * @param marker
      */
-    private WordStyle(Consumer<XWPFRun> styling) {
-        this.id = PREFIX + String.format("%06d", NUM++);
-        this.styling = styling;
-
-        styles.put(id, this);
+    private WordStyle(StyleRegistry.Marker<XWPFRun> marker) {
+        this.marker = marker;
     }
 
     /**
@@ -47,7 +33,7 @@ public class WordStyle {
      */
     @Override
     public final String toString() {
-        return id;
+        return marker.toString();
     }
 
     /**
@@ -57,7 +43,19 @@ public class WordStyle {
      * @return
      */
     public static WordStyle of(Consumer<XWPFRun> styling) {
-        return new WordStyle(styling);
+        return new WordStyle(registry.register(styling));
+    }
+
+    /**
+     * Build new style which is released when the current evaluation ends. It is useful for the
+     * style which is built for each evaluation. Outside of evaluation, it is same as
+     * {@link #of(Consumer)}.
+     * 
+     * @param styling
+     * @return
+     */
+    public static WordStyle ephemeral(Consumer<XWPFRun> styling) {
+        return new WordStyle(registry.register(styling, true));
     }
 
     /**
@@ -68,11 +66,6 @@ public class WordStyle {
      * @return
      */
     static String apply(XWPFRun run, String text) {
-        while (text.startsWith(PREFIX)) {
-            String id = text.substring(0, PREFIX.length() + 6);
-            text = text.substring(PREFIX.length() + 6);
-            styles.get(id).styling.accept(run);
-        }
-        return text;
+        return registry.apply(run, text);
     }
 }
\ No newline at end of file
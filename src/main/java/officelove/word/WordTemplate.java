@@ -0,0 +1,510 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.word;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.poi.xwpf.usermodel.XWPFComment;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFFooter;
+import org.apache.poi.xwpf.usermodel.XWPFHeader;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.apache.xmlbeans.XmlCursor;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTP;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSectPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTextDirection;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STTextDirection;
+
+import kiss.I;
+import kiss.WiseSupplier;
+import psychopath.File;
+
+/**
+ * Compiled word template. The template source is read and analyzed only once, and each evaluation
+ * builds its own document from the in-memory image. The compiled template is never modified after
+ * compilation, so one instance can serve many threads which evaluate it at the same time.
+ */
+public final class WordTemplate {
+
+    /** The maximum number of the cached templates. */
+    static final int LIMIT = 64;
+
+    /** The compiled templates by location, the least recently used one is evicted. */
+    private static final Map<String, Compilation> templates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Entry<String, Compilation> eldest) {
+            return LIMIT < size();
+        }
+    });
+
+    /** The template location. */
+    final String name;
+
+    /** The raw document image. */
+    private final byte[] image;
+
+    /** The text direction. */
+    final boolean textIsVerticalAlign;
+
+    /** The pre-resolved block directives by comment id. */
+    private final Map<String, String[]> directives = new HashMap();
+
+    /** The ordinals of paragraphs which must be evaluated, in the traversal order of {@link Word}. */
+    private final BitSet dynamics = new BitSet();
+
+    /** The ordinals of paragraphs which have no expression across runs. */
+    private final BitSet normalized = new BitSet();
+
+    /** The number of merged placeholders at compile time. */
+    private int merged;
+
+    /**
+     * Compile template.
+     *
+     * @param name A template location.
+     * @param input A template source.
+     */
+    private WordTemplate(String name, WiseSupplier<InputStream> input) {
+        this.name = name;
+
+        byte[] source;
+        try (InputStream stream = input.get()) {
+            source = stream.readAllBytes();
+        } catch (Throwable e) {
+            throw I.quiet(e);
+        }
+
+        XWPFDocument document = parse(source);
+
+        // section layout
+        CTSectPr section = document.getDocument().getBody().getSectPr();
+        CTTextDirection direction = section == null ? null : section.getTextDirection();
+        this.textIsVerticalAlign = direction != null && direction.getVal() == STTextDirection.TB_RL;
+
+        // comment blocks
+        for (XWPFComment comment : document.getComments()) {
+            directives.put(comment.getId(), directive(comment.getText()));
+        }
+
+        // dynamic paragraphs
+        int ordinal = index(document.getParagraphs(), 0);
+        for (XWPFTable table : document.getTables()) {
+            ordinal = index(table, ordinal);
+        }
+        for (XWPFHeader header : document.getHeaderList()) {
+            ordinal = index(header.getParagraphs(), ordinal);
+        }
+        for (XWPFFooter footer : document.getFooterList()) {
+            ordinal = index(footer.getParagraphs(), ordinal);
+        }
+
+        // keep the normalized document
+        if (merged == 0) {
+            this.image = source;
+        } else {
+            try (ByteArrayOutputStream output = new ByteArrayOutputStream(source.length)) {
+                document.write(output);
+                this.image = output.toByteArray();
+            } catch (Throwable e) {
+                throw I.quiet(e);
+            }
+        }
+    }
+
+    /**
+     * Index the dynamic paragraphs in the specified table.
+     * 
+     * @param table A target table.
+     * @param ordinal The next ordinal.
+     * @return The next ordinal.
+     */
+    private int index(XWPFTable table, int ordinal) {
+        for (XWPFTableRow row : table.getRows()) {
+            for (XWPFTableCell cell : row.getTableCells()) {
+                ordinal = index(cell.getParagraphs(), ordinal);
+
+                for (XWPFTable inner : cell.getTables()) {
+                    ordinal = index(inner, ordinal);
+                }
+            }
+        }
+        return ordinal;
+    }
+
+    /**
+     * Index the dynamic paragraphs.
+     * 
+     * @param paragraphs A list of paragraphs.
+     * @param ordinal The next ordinal.
+     * @return The next ordinal.
+     */
+    private int index(List<XWPFParagraph> paragraphs, int ordinal) {
+        for (XWPFParagraph paragraph : paragraphs) {
+            if (normalize(paragraph)) {
+                normalized.set(ordinal);
+            }
+
+            if (dynamic(paragraph)) {
+                dynamics.set(ordinal);
+            }
+            ordinal++;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Merge the runs which compose one expression (e.g. Word splits them by spell check or
+     * revision) into the run which closes the expression. The text before the expression stays in
+     * the opening run and the runs between them are removed, so the evaluated text and its
+     * formatting are same as the run-by-run evaluation.
+     * 
+     * @param paragraph A target paragraph.
+     * @return true if no expression is split across runs anymore.
+     */
+    private boolean normalize(XWPFParagraph paragraph) {
+        List<XWPFRun> runs = paragraph.getRuns();
+        boolean inVariable = false;
+        int open = -1;
+        int opening = -1;
+
+        for (int i = 0; i < runs.size(); i++) {
+            XWPFRun run = runs.get(i);
+            String text = run.getText(0);
+            boolean started = inVariable;
+            boolean closed = false;
+            int from = -1;
+
+            if (text != null) {
+                for (int j = 0; j < text.length(); j++) {
+                    switch (text.charAt(j)) {
+                    case '{':
+                        if (!inVariable) {
+                            from = j;
+                        }
+                        inVariable = true;
+                        break;
+
+                    case '}':
+                        closed |= inVariable;
+                        inVariable = false;
+                        break;
+                    }
+                }
+            }
+
+            // only the plain text run can be merged
+            if ((started || inVariable) && !plain(run)) {
+                return false;
+            }
+
+            if (!started) {
+                if (inVariable) {
+                    open = i;
+                    opening = from;
+                }
+            } else if (closed) {
+                XWPFRun first = runs.get(open);
+                String head = first.getText(0);
+                StringBuilder builder = new StringBuilder(head.substring(opening));
+
+                for (int k = open + 1; k <= i; k++) {
+                    String part = runs.get(k).getText(0);
+                    if (part != null) {
+                        builder.append(part);
+                    }
+                }
+                first.setText(head.substring(0, opening), 0);
+                run.setText(builder.toString(), 0);
+
+                for (int k = i - 1; open < k; k--) {
+                    paragraph.removeRun(k);
+                }
+                i = open + 1;
+                merged++;
+
+                // the next expression is opened in the merged run
+                if (inVariable) {
+                    opening = builder.length() - text.length() + from;
+                    open = i;
+                }
+            }
+        }
+        return !inVariable;
+    }
+
+    /**
+     * Check whether the specified run has only the formatting and text.
+     * 
+     * @param run A target run.
+     * @return A result.
+     */
+    private static boolean plain(XWPFRun run) {
+        if (run.getClass() != XWPFRun.class || 1 < run.getCTR().sizeOfTArray()) {
+            return false;
+        }
+
+        XmlCursor cursor = run.getCTR().newCursor();
+        try {
+            for (boolean has = cursor.toFirstChild(); has; has = cursor.toNextSibling()) {
+                String name = cursor.getName().getLocalPart();
+
+                if (!name.equals("rPr") && !name.equals("t")) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            cursor.dispose();
+        }
+    }
+
+    /**
+     * Check whether the specified paragraph must be evaluated or not. The paragraph which has
+     * neither block comment, expression, ruby marker, style marker nor digit in vertical text is
+     * left as it is.
+     * 
+     * @param paragraph A target paragraph.
+     * @return A result.
+     */
+    private boolean dynamic(XWPFParagraph paragraph) {
+        CTP context = paragraph.getCTP();
+        if (context.sizeOfCommentRangeStartArray() != 0 || context.sizeOfCommentRangeEndArray() != 0) {
+            return true;
+        }
+
+        return dynamic(paragraph.getText());
+    }
+
+    /**
+     * Check whether the specified text must be evaluated or not.
+     * 
+     * @param text A target text.
+     * @return A result.
+     */
+    boolean dynamic(String text) {
+        if (text == null) {
+            return false;
+        }
+
+        if (text.contains("LOVOFFICE_")) {
+            return true;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c == '{' || c == '}' || c == '｛' || c == '｝' || (textIsVerticalAlign && Character.isDigit(c))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the paragraph at the specified ordinal has no expression across runs.
+     * 
+     * @param ordinal An ordinal of paragraph in the traversal order of {@link Word}.
+     * @return A result.
+     */
+    boolean normalized(int ordinal) {
+        return normalized.get(ordinal);
+    }
+
+    /**
+     * Check whether the paragraph at the specified ordinal must be evaluated or not.
+     * 
+     * @param ordinal An ordinal of paragraph in the traversal order of {@link Word}.
+     * @return A result.
+     */
+    boolean dynamic(int ordinal) {
+        return dynamics.get(ordinal);
+    }
+
+    /**
+     * Create the new independent {@link Word} from this template.
+     * 
+     * @return A new document.
+     */
+    public Word create() {
+        return new Word(this);
+    }
+
+    /**
+     * Create the new independent {@link Word} and calculate variables by the given model.
+     * 
+     * @param model One model.
+     * @param others Other models.
+     * @return A new evaluated document.
+     */
+    public Word evaluate(Object model, Object... others) {
+        return create().evaluate(model, others);
+    }
+
+    /**
+     * Create the new independent {@link Word} and calculate variables by the given model.
+     * 
+     * @param models A list of models.
+     * @return A new evaluated document.
+     */
+    public Word evaluate(List models) {
+        return create().evaluate(models);
+    }
+
+    /**
+     * Build the new document from this template.
+     *
+     * @return A new document.
+     */
+    XWPFDocument document() {
+        return parse(image);
+    }
+
+    /**
+     * Parse the document image.
+     * 
+     * @param image A document image.
+     * @return A new document.
+     */
+    private static XWPFDocument parse(byte[] image) {
+        try {
+            return new XWPFDocument(new ByteArrayInputStream(image));
+        } catch (Throwable e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Find the pre-resolved block directive by comment id.
+     *
+     * @param id A comment id.
+     * @return A pair of condition and special command, or null.
+     */
+    String[] directive(String id) {
+        return directives.get(id);
+    }
+
+    /**
+     * Split the comment text into condition and special command.
+     *
+     * @param comment A comment text.
+     * @return A pair of condition and special command.
+     */
+    static String[] directive(String comment) {
+        int index = comment.indexOf("#");
+
+        if (index == -1) {
+            return new String[] {comment, ""};
+        } else {
+            return new String[] {comment.substring(0, index), comment.substring(index + 1)};
+        }
+    }
+
+    /**
+     * Compile the template from the specified file. The compiled template is cached by the file
+     * path and its last modified time.
+     *
+     * @param file A template file.
+     * @return A compiled template.
+     */
+    public static WordTemplate of(File file) {
+        File absolute = file.absolutize();
+
+        return compile(absolute.toString(), absolute.asJavaFile().lastModified(), absolute::newInputStream);
+    }
+
+    /**
+     * Compile the template from the specified URL. The compiled template is cached by the URL and
+     * its last modified time. The template which is not a local file (e.g. the resource in jar) is
+     * never modified, so it is compiled only once without opening the connection.
+     *
+     * @param file A template file.
+     * @return A compiled template.
+     */
+    public static WordTemplate of(URL file) {
+        try {
+            long modified = file.getProtocol().equals("file") ? Files.getLastModifiedTime(Path.of(file.toURI())).toMillis() : 0;
+
+            return compile(URLDecoder.decode(file.toString(), StandardCharsets.UTF_8), modified, file::openStream);
+        } catch (Throwable e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * Compile the template if needed.
+     *
+     * @param name A template location.
+     * @param modified A last modified time of the template source.
+     * @param input A template source.
+     * @return A compiled template.
+     */
+    private static WordTemplate compile(String name, long modified, WiseSupplier<InputStream> input) {
+        Compilation compilation = templates
+                .compute(name, (key, compiled) -> compiled == null || compiled.modified != modified ? new Compilation(name, modified, input)
+                        : compiled);
+
+        // the concurrent requests for the same template wait for the single compilation, which
+        // reads the template source outside the lock of cache
+        compilation.run();
+
+        try {
+            return compilation.get();
+        } catch (ExecutionException e) {
+            // the failed compilation can be retried
+            templates.remove(name, compilation);
+            throw I.quiet(e.getCause());
+        } catch (InterruptedException e) {
+            throw I.quiet(e);
+        }
+    }
+
+    /**
+     * The pending or completed compilation.
+     */
+    private static class Compilation extends FutureTask<WordTemplate> {
+
+        /** The last modified time of the template source. */
+        private final long modified;
+
+        /**
+         * @param name A template location.
+         * @param modified A last modified time of the template source.
+         * @param input A template source.
+         */
+        private Compilation(String name, long modified, WiseSupplier<InputStream> input) {
+            super(() -> new WordTemplate(name, input));
+            this.modified = modified;
+        }
+    }
+}
\ No newline at end of file
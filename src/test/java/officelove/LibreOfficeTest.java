@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import psychopath.Directory;
+import psychopath.File;
+import psychopath.Locator;
+
+class LibreOfficeTest {
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void killProcessTree() throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60").start();
+
+        // wait for the child process
+        long limit = System.currentTimeMillis() + 5000;
+        while (process.descendants().count() == 0 && System.currentTimeMillis() < limit) {
+            Thread.sleep(10);
+        }
+        List<ProcessHandle> descendants = process.descendants().toList();
+        assert !descendants.isEmpty();
+
+        LibreOffice.kill(process);
+        assert !process.isAlive();
+        for (ProcessHandle descendant : descendants) {
+            assert !descendant.isAlive();
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void timeout() {
+        Assertions.assertThrows(Exception.class, () -> LibreOffice.launch(List.of("sh", "-c", "sleep 60 & sleep 60"), 200));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void failure() {
+        Assertions.assertThrows(Exception.class, () -> LibreOffice.launch(List.of("sh", "-c", "exit 3"), 5000));
+    }
+
+    @Test
+    void convertAllRejectsSameName() {
+        Directory output = Locator.temporaryDirectory();
+        File one = Locator.temporaryDirectory().file("doc.docx");
+        File other = Locator.temporaryDirectory().file("doc.docx");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LibreOffice.convertAll(List.of(one, other), output, "pdf"));
+    }
+
+    @Test
+    void pool() throws Exception {
+        LibreOffice.configure(2, Duration.ofMinutes(1));
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger max = new AtomicInteger();
+            Set<Object> workers = ConcurrentHashMap.newKeySet();
+
+            ExecutorService executor = Executors.newFixedThreadPool(6);
+            for (int i = 0; i < 12; i++) {
+                executor.submit(() -> LibreOffice.pool(worker -> {
+                    workers.add(worker);
+                    max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                }));
+            }
+            executor.shutdown();
+            assert executor.awaitTermination(10, TimeUnit.SECONDS);
+
+            assert max.get() <= 2;
+            assert workers.size() <= 2;
+        } finally {
+            LibreOffice.configure(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), Duration.ofMinutes(3));
+        }
+    }
+}
\ No newline at end of file
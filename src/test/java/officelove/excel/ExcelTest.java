@@ -9,8 +9,27 @@
  */
 package officelove.excel;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 
+import kiss.I;
+import officelove.excel.Excel.SheetRows;
+import psychopath.File;
+import psychopath.Locator;
+
 class ExcelTest {
 
     @Test
@@ -28,4 +47,246 @@ class ExcelTest {
 
         assert Excel.normalize("髙").equals("高") == false;
     }
+
+    @Test
+    void update() {
+        Excel excel = new Excel();
+        XSSFRow header = excel.sheet.createRow(0);
+        header.createCell(0).setCellValue("name");
+        header.createCell(1).setCellValue("age");
+        header.createCell(2).setCellValue("unknown");
+
+        Item item = new Item();
+        excel.write(I.signal(item), (model, row) -> {
+        });
+
+        item.name = "one";
+        item.age = 10;
+        excel.update(List.of(item));
+
+        XSSFRow row = excel.sheet.getRow(1);
+        assert row.getCell(0).getStringCellValue().equals("one");
+        assert row.getCell(1).getNumericCellValue() == 10;
+        assert row.getCell(2) == null;
+
+        // reuse the compiled binder
+        item.name = "two";
+        excel.update(List.of(item));
+        assert row.getCell(0).getStringCellValue().equals("two");
+    }
+
+    @Test
+    void appendAfterExistingRows() {
+        Excel excel = new Excel();
+        excel.sheet.createRow(0).createCell(0).setCellValue("name");
+        for (int i = 1; i <= 5; i++) {
+            excel.sheet.createRow(i).createCell(0).setCellValue("existing" + i);
+        }
+
+        Item first = new Item();
+        excel.write(I.signal(first), (model, row) -> row.write(0, "first"));
+        assert excel.sheet.getRow(6).getCell(0).getStringCellValue().equals("first");
+        assert excel.nextRow == 7;
+
+        Item second = new Item();
+        Item third = new Item();
+        excel.writeAll(I.signal(second, third), (model, row) -> row.write(0, "next"));
+        assert excel.sheet.getRow(7).getCell(0).getStringCellValue().equals("next");
+        assert excel.sheet.getRow(8).getCell(0).getStringCellValue().equals("next");
+        assert excel.nextRow == 9;
+    }
+
+    @Test
+    void refreshHeader() {
+        Excel excel = new Excel();
+        XSSFRow header = excel.sheet.createRow(0);
+        header.createCell(0).setCellValue("name");
+
+        Item item = new Item();
+        item.name = "one";
+        item.age = 10;
+        excel.write(I.signal(item), (model, row) -> {
+        });
+        excel.update(List.of(item));
+
+        XSSFRow row = excel.sheet.getRow(1);
+        assert row.getCell(0).getStringCellValue().equals("one");
+        assert row.getCell(1) == null;
+
+        header.createCell(1).setCellValue("age");
+        excel.refreshHeader().update(List.of(item));
+        assert row.getCell(1).getNumericCellValue() == 10;
+    }
+
+    @Test
+    void binderByHeader() {
+        Excel excel = new Excel();
+        Item item = new Item();
+        Map<String, Integer> one = new HashMap(Map.of("name", 0));
+        Map<String, Integer> other = new HashMap(Map.of("name", 0));
+
+        Object binder = excel.binder(item, one);
+        assert binder == excel.binder(item, one);
+        assert binder != excel.binder(item, other);
+
+        // the binder for the other header doesn't replace it
+        assert binder == excel.binder(item, one);
+    }
+
+    @Test
+    void rowsAreOwnedByExcel() {
+        Item item = new Item();
+        item.name = "one";
+
+        Excel one = new Excel();
+        one.sheet.createRow(0).createCell(0).setCellValue("name");
+        one.write(I.signal(item), (model, row) -> {
+        });
+
+        Excel other = new Excel();
+        other.sheet.createRow(0).createCell(0).setCellValue("name");
+        other.update(List.of(item));
+        assert other.sheet.getRow(1) == null;
+
+        one.update(List.of(item));
+        assert one.sheet.getRow(1).getCell(0).getStringCellValue().equals("one");
+    }
+
+    @Test
+    void readRecord() throws Exception {
+        List<Price> prices = Excel.read(prices(100)).flatMap(sheet -> sheet.read(Price.class)).toList();
+        assert prices.size() == 100;
+        assert prices.get(0).equals(new Price("item0", 0.5, 0));
+        assert prices.get(99).equals(new Price("item99", 99.5, 99));
+    }
+
+    @Test
+    void readBean() throws Exception {
+        List<Item> items = Excel.read(prices(10)).flatMap(sheet -> sheet.read(Item.class)).toList();
+        assert items.size() == 10;
+        assert items.get(3).name.equals("item3");
+        assert items.get(3).age == 0;
+    }
+
+    @Test
+    void readUnknownType() throws Exception {
+        List<Throwable> errors = new ArrayList();
+        Excel.read(prices(1)).flatMap(sheet -> sheet.read(Unknown.class)).to(v -> {
+        }, errors::add);
+
+        assert errors.size() == 1;
+        assert errors.get(0) instanceof IllegalArgumentException;
+    }
+
+    @Test
+    void readSheetsInParallel() throws Exception {
+        File file = Locator.temporaryFile("sheets.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream output = file.newOutputStream()) {
+            for (int i = 0; i < 4; i++) {
+                XSSFSheet sheet = book.createSheet("sheet" + i);
+                sheet.createRow(0).createCell(0).setCellValue("name");
+
+                for (int j = 0; j <= i; j++) {
+                    sheet.createRow(j + 1).createCell(0).setCellValue("value" + j);
+                }
+            }
+            book.write(output);
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<SheetRows> sheets = Excel.read(file, executor, true).toList();
+            assert sheets.size() == 4;
+
+            for (int i = 0; i < sheets.size(); i++) {
+                SheetRows sheet = sheets.get(i);
+                assert sheet.name().equals("sheet" + i);
+                assert sheet.rows().size() == i + 1;
+                assert sheet.read("name").map(row -> row.text("name")).toList().getLast().equals("value" + i);
+                assert !sheet.elapsed().isNegative();
+            }
+
+            assert Excel.read(file, executor, false).toList().size() == 4;
+        }
+    }
+
+    @Test
+    void writeRows() throws Exception {
+        File file = Locator.temporaryFile("write.xlsx");
+        List<Integer> items = new ArrayList();
+        for (int i = 0; i < 30; i++) {
+            items.add(i);
+        }
+
+        // the small window flushes the rows to the temporary file
+        Excel.write(file, items.iterator(), (writer, i) -> {
+            writer.add("item" + i)
+                    .add(i)
+                    .add(i * 10L)
+                    .add(i + 0.5)
+                    .addDecimal(new BigDecimal(i + ".25"))
+                    .addDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .add(null)
+                    .addDecimal(null)
+                    .addDate(null);
+        }, 5);
+
+        try (XSSFWorkbook book = new XSSFWorkbook(file.asJavaFile())) {
+            XSSFSheet sheet = book.getSheetAt(0);
+            assert sheet.getLastRowNum() == 29;
+
+            for (int i = 0; i < 30; i++) {
+                XSSFRow row = sheet.getRow(i);
+                assert row.getCell(0).getStringCellValue().equals("item" + i);
+                assert row.getCell(1).getNumericCellValue() == i;
+                assert row.getCell(2).getNumericCellValue() == i * 10L;
+                assert row.getCell(3).getNumericCellValue() == i + 0.5;
+                assert row.getCell(4).getNumericCellValue() == i + 0.25;
+                assert row.getCell(5).getLocalDateTimeCellValue().toLocalDate().equals(LocalDate.of(2025, 1, 1).plusDays(i));
+                assert row.getCell(5).getCellStyle().getDataFormatString().equals("yyyy/mm/dd");
+                assert row.getCell(6).getCellType() == CellType.BLANK;
+                assert row.getCell(7).getCellType() == CellType.BLANK;
+                assert row.getCell(8).getCellType() == CellType.BLANK;
+            }
+        }
+    }
+
+    /**
+     * Build the price list.
+     * 
+     * @param size
+     * @return
+     */
+    private File prices(int size) throws Exception {
+        File file = Locator.temporaryFile("prices.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream output = file.newOutputStream()) {
+            XSSFSheet sheet = book.createSheet();
+            XSSFRow header = sheet.createRow(0);
+            header.createCell(0).setCellValue("name");
+            header.createCell(1).setCellValue("price");
+            header.createCell(2).setCellValue("count");
+
+            for (int i = 0; i < size; i++) {
+                XSSFRow row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("item" + i);
+                row.createCell(1).setCellValue(i + 0.5);
+                row.createCell(2).setCellValue(i);
+            }
+            sheet.createRow(size + 1);
+            book.write(output);
+        }
+        return file;
+    }
+
+    record Price(String name, double price, int count) {
+    }
+
+    record Unknown(String code) {
+    }
+
+    public static class Item {
+
+        public String name;
+
+        public int age;
+    }
 }
\ No newline at end of file
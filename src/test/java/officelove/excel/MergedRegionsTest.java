@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class MergedRegionsTest {
+
+    @Test
+    void find() throws Exception {
+        try (XSSFWorkbook book = new XSSFWorkbook()) {
+            XSSFSheet sheet = book.createSheet();
+            sheet.addMergedRegion(new CellRangeAddress(1, 3, 1, 2));
+            sheet.addMergedRegion(new CellRangeAddress(2, 2, 5, 8));
+
+            assert MergedRegions.find(sheet, 0, 1) == null;
+            assert MergedRegions.find(sheet, 1, 1).formatAsString().equals("B2:C4");
+            assert MergedRegions.find(sheet, 3, 2).formatAsString().equals("B2:C4");
+            assert MergedRegions.find(sheet, 2, 3) == null;
+            assert MergedRegions.find(sheet, 2, 8).formatAsString().equals("F3:I3");
+            assert MergedRegions.find(sheet, 2, 9) == null;
+            assert MergedRegions.find(sheet, 4, 1) == null;
+        }
+    }
+
+    @Test
+    void invalidate() throws Exception {
+        try (XSSFWorkbook book = new XSSFWorkbook()) {
+            XSSFSheet sheet = book.createSheet();
+            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 1));
+            assert MergedRegions.find(sheet, 5, 0) == null;
+
+            sheet.addMergedRegion(new CellRangeAddress(5, 6, 0, 0));
+            assert MergedRegions.find(sheet, 6, 0).formatAsString().equals("A6:A7");
+        }
+    }
+
+    @Test
+    void invalidateBySameSize() throws Exception {
+        try (XSSFWorkbook book = new XSSFWorkbook()) {
+            XSSFSheet sheet = book.createSheet();
+            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 1));
+            sheet.addMergedRegion(new CellRangeAddress(2, 2, 0, 1));
+            assert MergedRegions.find(sheet, 2, 1).formatAsString().equals("A3:B3");
+
+            // replace the region with the same number of regions
+            sheet.removeMergedRegion(1);
+            sheet.addMergedRegion(new CellRangeAddress(4, 4, 0, 1));
+            assert MergedRegions.find(sheet, 2, 1) == null;
+            assert MergedRegions.find(sheet, 4, 1).formatAsString().equals("A5:B5");
+
+            sheet.removeMergedRegion(0);
+            sheet.addMergedRegion(new CellRangeAddress(0, 1, 0, 0));
+            assert MergedRegions.find(sheet, 1, 0).formatAsString().equals("A1:A2");
+        }
+    }
+
+    @Test
+    void wholeColumn() throws Exception {
+        try (XSSFWorkbook book = new XSSFWorkbook()) {
+            XSSFSheet sheet = book.createSheet();
+            sheet.createRow(2).createCell(0);
+            sheet.addMergedRegion(new CellRangeAddress(0, 1048575, 0, 0));
+            sheet.addMergedRegion(new CellRangeAddress(1, 2, 2, 3));
+
+            assert MergedRegions.find(sheet, 0, 0).getLastRow() == 1048575;
+            assert MergedRegions.find(sheet, 2, 0).getLastRow() == 1048575;
+            assert MergedRegions.find(sheet, 1048575, 0).getLastRow() == 1048575;
+            assert MergedRegions.find(sheet, 1048575, 1) == null;
+            assert MergedRegions.find(sheet, 2, 3).formatAsString().equals("C2:D3");
+            assert MergedRegions.find(sheet, 3, 3) == null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTPhoneticRun;
+
+import kiss.Decoder;
+import kiss.I;
+import officelove.excel.Excel.RowReader;
+import psychopath.File;
+import psychopath.Locator;
+
+class PhoneticsTest {
+
+    static {
+        I.load(PhoneticsTest.class);
+    }
+
+    @Test
+    void none() {
+        assert Phonetics.find(String.class) == null;
+        assert Phonetics.find(String.class) == null;
+    }
+
+    @Test
+    void snapshot() {
+        assert Phonetics.refresh() == Phonetics.refresh();
+    }
+
+    @Test
+    void aware() throws Exception {
+        File file = write();
+
+        // DOM reader
+        RowReader row = Excel.read(file, "data", "name").toList().get(0);
+        Reading reading = row.value("name", Reading.class);
+        assert reading.text.equals("漢字");
+        assert reading.ruby.equals("かんじ");
+
+        List<Entry> entries = Excel.read(file).flatMap(sheet -> sheet.read(Entry.class)).toList();
+        assert entries.size() == 1;
+        assert entries.get(0).name().text.equals("漢字");
+        assert entries.get(0).name().ruby.equals("かんじ");
+
+        // streaming reader
+        RowReader streamed = Excel.stream(file, "data", "name", true).toList().get(0);
+        reading = streamed.value("name", Reading.class);
+        assert reading.text.equals("漢字");
+        assert reading.ruby.equals("かんじ");
+
+        // the phonetic text is not extracted unless required
+        reading = Excel.stream(file, "data", "name").toList().get(0).value("name", Reading.class);
+        assert reading.text.equals("漢字");
+        assert reading.ruby == null;
+
+        // the type without aware never requires the phonetic text
+        int calls = ReadingAware.calls.get();
+        assert row.text("name").equals("漢字");
+        assert streamed.text("name").equals("漢字");
+        assert ReadingAware.calls.get() == calls;
+    }
+
+    /**
+     * Write the phonetic cell.
+     * 
+     * @return
+     */
+    private File write() throws Exception {
+        File file = Locator.temporaryFile("phonetic.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream output = file.newOutputStream()) {
+            Sheet sheet = book.createSheet("data");
+            sheet.createRow(0).createCell(0).setCellValue("name");
+
+            XSSFRichTextString text = new XSSFRichTextString("漢字");
+            CTPhoneticRun run = text.getCTRst().addNewRPh();
+            run.setSb(0);
+            run.setEb(2);
+            run.setT("かんじ");
+            sheet.createRow(1).createCell(0).setCellValue(text);
+            book.write(output);
+        }
+        return file;
+    }
+
+    /**
+     * Test model.
+     */
+    static class Reading {
+
+        private final String text;
+
+        private String ruby;
+
+        Reading(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Test model.
+     */
+    record Entry(Reading name) {
+    }
+
+    /**
+     * Test codec.
+     */
+    static class ReadingDecoder implements Decoder<Reading> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Reading decode(String value) {
+            return new Reading(value);
+        }
+    }
+
+    /**
+     * Test aware.
+     */
+    static class ReadingAware implements PhoneticAware<Reading> {
+
+        /** The number of calls. */
+        private static final AtomicInteger calls = new AtomicInteger();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setPhonetic(Reading model, String ruby) {
+            calls.incrementAndGet();
+            model.ruby = ruby;
+        }
+    }
+}
\ No newline at end of file
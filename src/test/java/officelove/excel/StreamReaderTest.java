@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.excel;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTPhoneticRun;
+
+import kiss.Disposable;
+import kiss.Observer;
+import officelove.excel.Excel.RowReader;
+import officelove.excel.Excel.SheetRows;
+import psychopath.File;
+import psychopath.Locator;
+
+class StreamReaderTest {
+
+    @Test
+    void column() {
+        assert StreamReader.column("A1") == 0;
+        assert StreamReader.column("B12") == 1;
+        assert StreamReader.column("Z3") == 25;
+        assert StreamReader.column("AA1") == 26;
+        assert StreamReader.column("AB100") == 27;
+        assert StreamReader.column("XFD1") == 16383;
+    }
+
+    @Test
+    void sharedStrings() throws Exception {
+        File file = write(new XSSFWorkbook());
+
+        assertRows(Excel.stream(file, "data", "name").toList());
+        assertRows(Excel.read(file, "data", "name").toList());
+    }
+
+    @Test
+    void inlineStrings() throws Exception {
+        // the streaming workbook writes all texts as inline strings
+        File file = write(new SXSSFWorkbook());
+
+        assertRows(Excel.stream(file, "data", "name").toList());
+        assertRows(Excel.read(file, "data", "name").toList());
+    }
+
+    @Test
+    void phonetic() throws Exception {
+        File file = Locator.temporaryFile("phonetic.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream output = file.newOutputStream()) {
+            Sheet sheet = book.createSheet("data");
+            sheet.createRow(0).createCell(0).setCellValue("name");
+
+            XSSFRichTextString text = new XSSFRichTextString("漢字");
+            CTPhoneticRun run = text.getCTRst().addNewRPh();
+            run.setSb(0);
+            run.setEb(2);
+            run.setT("かんじ");
+            sheet.createRow(1).createCell(0).setCellValue(text);
+            book.write(output);
+        }
+
+        List<RowReader> rows = Excel.stream(file, "data", "name", true).toList();
+        assert rows.size() == 1;
+        assert rows.get(0).text("name").equals("漢字");
+        assert rows.get(0).phonetic("name").equals("かんじ");
+
+        // the phonetic text is ignored unless required
+        rows = Excel.stream(file, "data", "name").toList();
+        assert rows.get(0).text("name").equals("漢字");
+        assert rows.get(0).phonetic("name").equals("");
+
+        rows = Excel.read(file, "data", "name").toList();
+        assert rows.get(0).phonetic("name").equals("かんじ");
+    }
+
+    @Test
+    void dispose() throws Exception {
+        File file = write(new XSSFWorkbook());
+        List<String> names = new ArrayList();
+        List<String> events = new ArrayList();
+        Disposable disposer = Disposable.empty();
+
+        Excel.stream(file, "data", "name").to(new Observer<RowReader>() {
+
+            @Override
+            public void accept(RowReader row) {
+                names.add(row.text("name"));
+                disposer.dispose();
+            }
+
+            @Override
+            public void complete() {
+                events.add("complete");
+            }
+
+            @Override
+            public void error(Throwable e) {
+                events.add("error");
+            }
+        }, disposer);
+
+        assert names.equals(List.of("one"));
+        assert events.isEmpty();
+    }
+
+    @Test
+    void disposeSheets() throws Exception {
+        File file = Locator.temporaryFile("sheets.xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream output = file.newOutputStream()) {
+            for (int i = 0; i < 3; i++) {
+                XSSFSheet sheet = book.createSheet("sheet" + i);
+                sheet.createRow(0).createCell(0).setCellValue("name");
+                sheet.createRow(1).createCell(0).setCellValue("value" + i);
+            }
+            book.write(output);
+        }
+
+        for (boolean ordered : new boolean[] {true, false}) {
+            List<String> names = new ArrayList();
+            List<String> events = new ArrayList();
+            Disposable disposer = Disposable.empty();
+
+            Excel.read(file, Runnable::run, ordered).to(new Observer<SheetRows>() {
+
+                @Override
+                public void accept(SheetRows sheet) {
+                    names.add(sheet.name());
+                    disposer.dispose();
+                }
+
+                @Override
+                public void complete() {
+                    events.add("complete");
+                }
+
+                @Override
+                public void error(Throwable e) {
+                    events.add("error");
+                }
+            }, disposer);
+
+            assert names.size() == 1;
+            assert events.isEmpty();
+        }
+    }
+
+    /**
+     * Write the test data.
+     * 
+     * @param book
+     * @return
+     */
+    private File write(Workbook book) throws Exception {
+        File file = Locator.temporaryFile("stream.xlsx");
+        try (book; OutputStream output = file.newOutputStream()) {
+            Sheet sheet = book.createSheet("data");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("name");
+            header.createCell(1).setCellValue("price");
+            header.createCell(2).setCellValue("flag");
+            header.createCell(3).setCellValue("memo");
+
+            Row one = sheet.createRow(1);
+            one.createCell(0).setCellValue("one");
+            one.createCell(1).setCellValue(1.5);
+            one.createCell(2).setCellValue(true);
+            one.createCell(3).setCellValue("first");
+
+            // blank name is skipped
+            Row blank = sheet.createRow(2);
+            blank.createCell(0).setBlank();
+            blank.createCell(1).setCellValue(2);
+
+            // the missing row is skipped
+            Row two = sheet.createRow(4);
+            two.createCell(0).setCellValue("two");
+            two.createCell(1).setCellValue(20);
+            two.createCell(2).setCellValue(false);
+
+            // the last row must be read
+            Row three = sheet.createRow(5);
+            three.createCell(0).setCellValue("three");
+            book.write(output);
+        }
+        return file;
+    }
+
+    /**
+     * Verify the rows which are written by {@link #write(Workbook)}.
+     * 
+     * @param rows
+     */
+    private void assertRows(List<RowReader> rows) {
+        assert rows.size() == 3;
+
+        RowReader one = rows.get(0);
+        assert one.text("name").equals("one");
+        assert one.decimal("price").equals(new BigDecimal("1.5"));
+        assert one.text("flag").equals("true");
+        assert one.text("memo").equals("first");
+
+        RowReader two = rows.get(1);
+        assert two.text("name").equals("two");
+        assert two.integer("price") == 20;
+        assert two.text("flag").equals("false");
+        assert two.text("memo").equals("");
+
+        RowReader three = rows.get(2);
+        assert three.text("name").equals("three");
+        assert three.integer("price") == 0;
+        assert three.text("flag").equals("");
+        assert three.decimal("memo") == null;
+    }
+}
\ No newline at end of file
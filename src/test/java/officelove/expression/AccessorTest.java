@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.expression;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AccessorTest {
+
+    private static Expression.Part part(String expression) {
+        return Expression.compile(expression).parts[0];
+    }
+
+    @Test
+    void cache() throws Exception {
+        Accessor accessor = Accessor.of(Methods.class, part("text()"));
+        assert accessor != null;
+        assert accessor == Accessor.of(Methods.class, part("text()"));
+        assert accessor != Accessor.of(Methods.class, part("text(1)"));
+    }
+
+    @Test
+    void overload() throws Exception {
+        Methods methods = new Methods();
+        assert Accessor.of(Methods.class, part("text()")).invoke(methods).equals("none");
+        assert Accessor.of(Methods.class, part("text(2)")).invoke(methods).equals("int 2");
+        assert Accessor.of(Methods.class, part("text(2, 3)")).invoke(methods).equals("int 5");
+    }
+
+    @Test
+    void staticMethod() throws Exception {
+        assert Accessor.of(Methods.class, part("twice(4)")).invoke(new Methods()).equals(8);
+    }
+
+    @Test
+    void unknown() throws Exception {
+        assert Accessor.of(Methods.class, part("unknown()")) == null;
+        assert Accessor.of(Methods.class, part("unknown()")) == null;
+
+        // void method is not accessor
+        assert Accessor.of(Methods.class, part("nothing()")) == null;
+    }
+
+    @Test
+    void exception() throws Exception {
+        Accessor accessor = Accessor.of(Methods.class, part("fail()"));
+        Assertions.assertThrows(IllegalStateException.class, () -> accessor.invoke(new Methods()));
+    }
+
+    @Test
+    void error() throws Exception {
+        Accessor accessor = Accessor.of(Methods.class, part("broken()"));
+        Assertions.assertThrows(AssertionError.class, () -> accessor.invoke(new Methods()));
+    }
+
+    @Test
+    void errorIsNotUnresolved() {
+        Parser parser = new Parser(new Methods());
+        Assertions.assertThrows(AssertionError.class, () -> parser.resolve("broken()"));
+    }
+
+    @Test
+    void exceptionIsUnresolved() {
+        Parser parser = new Parser(new Methods());
+        Assertions.assertThrows(ExpressionException.class, () -> parser.resolve("fail()"));
+    }
+
+    public static class Methods {
+
+        public String text() {
+            return "none";
+        }
+
+        public String text(int value) {
+            return "int " + value;
+        }
+
+        public String text(int one, int other) {
+            return "int " + (one + other);
+        }
+
+        public static int twice(int value) {
+            return value * 2;
+        }
+
+        public void nothing() {
+        }
+
+        public String fail() {
+            throw new IllegalStateException();
+        }
+
+        public String broken() {
+            throw new AssertionError();
+        }
+    }
+}
\ No newline at end of file
@@ -51,6 +51,50 @@ class ParserTest {
         assert parser.resolve("none?").equals("");
     }
 
+    @Test
+    void models() {
+        Parser parser = new Parser(new Person("one", 1), new MethodCall());
+        assert parser.resolve("text").equals("text");
+        assert parser.resolve("text").equals("text");
+        assert parser.resolve("name").equals("one");
+        Assertions.assertThrows(ExpressionException.class, () -> parser.resolve("none"));
+    }
+
+    @Test
+    void evaluateFailedModelOnce() {
+        Counter counter = new Counter();
+        Parser parser = new Parser(counter, new Person("one", 1));
+
+        ExpressionException error = Assertions.assertThrows(ExpressionException.class, () -> parser.resolve("tick()"));
+        assert error.getMessage().contains(Counter.class.getName());
+        assert error.getMessage().contains(Person.class.getName());
+        assert counter.calls == 1;
+    }
+
+    @Test
+    void hintSharedByParsers() {
+        Counter counter = new Counter();
+        assert new Parser(counter, new Hinted()).resolve("tick()").equals("hinted");
+        assert counter.calls == 1;
+
+        // the other parser tries the hinted model first
+        Counter other = new Counter();
+        assert new Parser(other, new Hinted()).resolve("tick()").equals("hinted");
+        assert other.calls == 0;
+
+        // the hint is ignored for the models of the different types
+        Counter another = new Counter();
+        Assertions.assertThrows(ExpressionException.class, () -> new Parser(another, new Person("one", 1)).resolve("tick()"));
+        assert another.calls == 1;
+    }
+
+    @Test
+    void tryOtherModelsAfterExpressionError() {
+        Parser parser = new Parser(new Broken(), new Person("one", 1));
+        assert parser.resolve("name").equals("one");
+        assert parser.resolve("name").equals("one");
+    }
+
     @Test
     void space() {
         Parser parser = new Parser(new Group(new Person("one", 1), new Person("two", 2)));
@@ -100,6 +144,37 @@ class ParserTest {
         assert parser.resolve("time - 10min").equals(LocalTime.of(10, 20));
     }
 
+    @Test
+    void compile() {
+        Expression expression = Expression.compile("age + 1?");
+        assert expression == Expression.compile("age + 1?");
+        assert expression.optional;
+        assert expression.parts.length == 2;
+        assert expression.parts[0].text.equals("age");
+        assert expression.parts[1].text.equals("+1");
+    }
+
+    @Test
+    void compileEvictsLeastRecentlyUsed() {
+        Expression hot = Expression.compile("hot.expression");
+        Expression cold = Expression.compile("cold.expression");
+
+        for (int i = 0; i < Expression.LIMIT * 2; i++) {
+            Expression.compile("expression" + i);
+            assert Expression.compile("hot.expression") == hot;
+        }
+        assert Expression.compile("cold.expression") != cold;
+    }
+
+    @Test
+    void compileMethod() {
+        Expression expression = Expression.compile("sum( 1 , 2 )");
+        assert expression.parts[0].name.equals("sum");
+        assert expression.parts[0].parameters.length == 2;
+        assert expression.parts[0].parameters[0].equals("1");
+        assert expression.parts[0].parameters[1].equals("2");
+    }
+
     /**
      * Test model.
      */
@@ -150,6 +225,42 @@ class ParserTest {
         }
     }
 
+    /**
+     * Test model.
+     */
+    static class Counter {
+
+        private int calls;
+
+        public String tick() {
+            calls++;
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Test model.
+     */
+    static class Hinted {
+
+        public String tick() {
+            return "hinted";
+        }
+    }
+
+    /**
+     * Test model.
+     */
+    static class Broken {
+
+        public String getName() {
+            throw new ExpressionException("nested");
+        }
+
+        public void setName(String name) {
+        }
+    }
+
     /**
      * Test model.
      */
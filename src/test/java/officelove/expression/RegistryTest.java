@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import officelove.expression.builtin.NumberResolver;
+import officelove.expression.builtin.TemporalResolver;
+
+class RegistryTest {
+
+    static {
+        I.load(RegistryTest.class);
+    }
+
+    @Test
+    void parameterizedTarget() {
+        assert Registry.target(new Count()) == List.class;
+        assert Registry.target(new Guarded()) == String.class;
+    }
+
+    @Test
+    void typeIndex() {
+        Registry registry = Registry.latest();
+        assert Arrays.stream(registry.resolvers(ArrayList.class)).anyMatch(Count.class::isInstance);
+        assert Arrays.stream(registry.resolvers(ArrayList.class)).noneMatch(Guarded.class::isInstance);
+        assert Arrays.stream(registry.resolvers(String.class)).anyMatch(Guarded.class::isInstance);
+        assert Arrays.stream(registry.resolvers(String.class)).noneMatch(Count.class::isInstance);
+    }
+
+    @Test
+    void resolveByParameterizedTarget() {
+        Parser parser = new Parser(new Holder());
+        assert parser.resolve("items.registryCount").equals(2);
+    }
+
+    @Test
+    void accept() {
+        Parser parser = new Parser(new Holder());
+        int matched = Guarded.matches.get();
+
+        assert parser.resolve("text@guard").equals("guarded");
+        assert Guarded.matches.get() == matched + 1;
+
+        // the resolver is skipped by the leading character
+        Assertions.assertThrows(ExpressionException.class, () -> parser.resolve("text.unknown"));
+        assert Guarded.matches.get() == matched + 1;
+    }
+
+    @Test
+    void acceptBuiltin() {
+        NumberResolver number = new NumberResolver();
+        assert number.accept('+');
+        assert number.accept('-');
+        assert number.accept('*');
+        assert number.accept('/');
+        assert number.accept('%');
+        assert !number.accept('1');
+        assert !number.accept('y');
+
+        TemporalResolver temporal = new TemporalResolver();
+        assert temporal.accept('+');
+        assert temporal.accept('-');
+        assert !temporal.accept('*');
+        assert !temporal.accept('y');
+    }
+
+    @Test
+    void child() {
+        Parser child = new Parser(new Holder()).with(List.of(new Holder()));
+        assert child.resolve("items.registryCount").equals(2);
+        assert child.resolve("text@guard").equals("guarded");
+    }
+
+    /**
+     * Test model.
+     */
+    static class Holder {
+
+        public String text = "text";
+
+        public List<String> items = List.of("one", "two");
+    }
+
+    /**
+     * Test resolver for the parameterized type.
+     */
+    static class Count implements ExpressionResolver<List<String>> {
+
+        /** The format. */
+        private static final Pattern PATTERN = Pattern.compile("registryCount");
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Matcher match(String expression) {
+            return PATTERN.matcher(expression);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object resolve(Matcher matcher, List<String> value) {
+            return value.size();
+        }
+    }
+
+    /**
+     * Test resolver which restricts the leading character.
+     */
+    static class Guarded implements ExpressionResolver<String> {
+
+        /** The number of matching. */
+        private static final AtomicInteger matches = new AtomicInteger();
+
+        /** The format. */
+        private static final Pattern PATTERN = Pattern.compile("@guard");
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean accept(char leading) {
+            return leading == '@';
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Matcher match(String expression) {
+            matches.incrementAndGet();
+            return PATTERN.matcher(expression);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object resolve(Matcher matcher, String value) {
+            return "guarded";
+        }
+    }
+}
\ No newline at end of file
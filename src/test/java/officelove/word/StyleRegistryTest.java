@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.word;
+
+import java.util.function.Consumer;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import psychopath.Locator;
+
+class StyleRegistryTest {
+
+    @Test
+    void intern() {
+        Consumer<XWPFRun> styling = run -> run.setBold(true);
+        assert WordStyle.of(styling).toString().equals(WordStyle.of(styling).toString());
+        assert !WordStyle.of(styling).toString().equals(WordStyle.of(run -> run.setItalic(true)).toString());
+    }
+
+    @Test
+    void apply() {
+        XWPFRun run = new XWPFDocument().createParagraph().createRun();
+        String text = WordStyle.of(x -> x.setBold(true)) + "" + WordStyle.of(x -> x.setItalic(true)) + "text";
+
+        assert WordStyle.apply(run, text).equals("text");
+        assert run.isBold();
+        assert run.isItalic();
+    }
+
+    @Test
+    void plain() {
+        XWPFRun run = new XWPFDocument().createParagraph().createRun();
+        String text = "text";
+
+        assert WordStyle.apply(run, text) == text;
+    }
+
+    @Test
+    void ephemeral() {
+        XWPFRun run = new XWPFDocument().createParagraph().createRun();
+        String marker;
+
+        StyleRegistry.enter();
+        try {
+            marker = WordStyle.ephemeral(x -> x.setBold(true)).toString();
+            assert WordStyle.apply(run, marker + "text").equals("text");
+        } finally {
+            StyleRegistry.exit();
+        }
+
+        // released
+        Assertions.assertThrows(IllegalStateException.class, () -> WordStyle.apply(run, marker + "text"));
+    }
+
+    @Test
+    void sharedInScope() {
+        XWPFRun run = new XWPFDocument().createParagraph().createRun();
+        String marker;
+
+        StyleRegistry.enter();
+        try {
+            marker = WordStyle.of(x -> x.setBold(true)).toString();
+        } finally {
+            StyleRegistry.exit();
+        }
+
+        assert WordStyle.apply(run, marker + "text").equals("text");
+    }
+
+    @Test
+    void releaseUnreachable() throws Exception {
+        StyleRegistry<XWPFRun> registry = new StyleRegistry("TEST_RELEASE_");
+        StyleRegistry.Marker<XWPFRun> kept = registry.register(run -> run.setBold(true));
+
+        for (int i = 0; i < 10000; i++) {
+            String color = Integer.toHexString(i);
+            registry.register(run -> run.setColor(color));
+        }
+
+        for (int i = 0; i < 100 && StyleRegistry.PINNED + 1 < registry.size(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assert registry.size() <= StyleRegistry.PINNED + 1;
+
+        XWPFRun run = new XWPFDocument().createParagraph().createRun();
+        assert registry.apply(run, kept + "text").equals("text");
+        assert run.isBold();
+    }
+
+    @Test
+    void constantInitializedInEvaluation() {
+        WordTemplate template = WordTemplate.of(Locator.directory("src/test/resources/officelove/word").file("variable.docx"));
+
+        for (int i = 0; i < 2; i++) {
+            Word word = template.evaluate(new Styled());
+            XWPFParagraph paragraph = word.paragraphWith("styled");
+            assert paragraph != null;
+            assert paragraph.getRuns().stream().anyMatch(XWPFRun::isBold);
+        }
+    }
+
+    public static class Styled {
+
+        public String inTable = "table";
+
+        public String publicField() {
+            return Constants.BOLD + "styled";
+        }
+    }
+
+    /**
+     * The class is initialized in evaluation at first.
+     */
+    private static class Constants {
+
+        static final WordStyle BOLD = WordStyle.of(run -> run.setBold(true));
+    }
+}
\ No newline at end of file
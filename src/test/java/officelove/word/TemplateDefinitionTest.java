@@ -9,11 +9,19 @@
  */
 package officelove.word;
 
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.junit.jupiter.api.Test;
 
+import kiss.I;
+import kiss.Signal;
 import psychopath.Directory;
+import psychopath.File;
 import psychopath.Locator;
 
 class TemplateDefinitionTest extends WordTestSupport {
@@ -44,6 +52,40 @@ class TemplateDefinitionTest extends WordTestSupport {
         assert defs.MergeableContext.types().get(1) == Locale.class;
     }
 
+    @Test
+    void publishAll() throws Exception {
+        Directory output = Locator.temporaryDirectory();
+        File blocker = output.file("blocker");
+        try (OutputStream stream = blocker.newOutputStream()) {
+            stream.write(1);
+        }
+
+        Signal<Value> values = I.signal("one", "broken", "two", "unknown", "three").map(Value::new);
+        Map<Integer, Throwable> failures = defs.variable.publishAll(values, value -> {
+            switch (value.publicField) {
+            case "unknown":
+                throw new IllegalArgumentException(value.publicField);
+
+            case "broken":
+                // the parent is not a directory
+                return Locator.file(blocker + "/broken.docx");
+
+            default:
+                return output.file(value.publicField + ".docx");
+            }
+        });
+
+        assert failures.keySet().equals(Set.of(1, 3));
+        assert failures.get(3) instanceof IllegalArgumentException;
+
+        for (String value : List.of("one", "two", "three")) {
+            try (XWPFDocument document = new XWPFDocument(output.file(value + ".docx").newInputStream())) {
+                assert document.getParagraphs().get(0).getText().equals(value);
+                assert document.getTables().get(0).getRow(0).getCell(0).getText().equals("table");
+            }
+        }
+    }
+
     /**
      * For test.
      */
@@ -57,6 +99,8 @@ class TemplateDefinitionTest extends WordTestSupport {
 
         public final Template2<Mergeable<String>, Locale> MergeableContext = new Template2();
 
+        public final Template1<Value> variable = new Template1();
+
         /**
          * {@inheritDoc}
          */
@@ -65,4 +109,18 @@ class TemplateDefinitionTest extends WordTestSupport {
             return Locator.directory("src/test/resources/officelove/word/definitions");
         }
     }
+
+    /**
+     * For test.
+     */
+    public static class Value {
+
+        public String publicField;
+
+        public String inTable = "table";
+
+        private Value(String value) {
+            this.publicField = value;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.word;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.apache.poi.xwpf.usermodel.Document;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.junit.jupiter.api.Test;
+
+class WordHeleperTest {
+
+    @Test
+    void copyPicture() throws Exception {
+        byte[] image = image();
+
+        try (XWPFDocument source = new XWPFDocument(); XWPFDocument other = new XWPFDocument(); XWPFDocument target = new XWPFDocument()) {
+            XWPFRun picture = picture(source, image);
+            XWPFRun same = picture(other, image);
+
+            WordHeleper.copy(picture, target.createParagraph().createRun(), v -> v);
+            assert target.getAllPictures().size() == 1;
+
+            // the same picture object
+            WordHeleper.copy(picture, target.createParagraph().createRun(), v -> v);
+            assert target.getAllPictures().size() == 1;
+
+            // the other picture object which has the same content
+            WordHeleper.copy(same, target.createParagraph().createRun(), v -> v);
+            assert target.getAllPictures().size() == 1;
+
+            // the other document has its own copy
+            try (XWPFDocument another = new XWPFDocument()) {
+                WordHeleper.copy(picture, another.createParagraph().createRun(), v -> v);
+                assert another.getAllPictures().size() == 1;
+            }
+        }
+    }
+
+    /**
+     * Create the run which has the specified picture.
+     * 
+     * @param document
+     * @param image
+     * @return
+     */
+    private XWPFRun picture(XWPFDocument document, byte[] image) throws Exception {
+        XWPFRun run = document.createParagraph().createRun();
+        run.addPicture(new ByteArrayInputStream(image), Document.PICTURE_TYPE_PNG, "image.png", 10, 10);
+        return run;
+    }
+
+    /**
+     * Build the small PNG image.
+     * 
+     * @return
+     */
+    private byte[] image() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.word;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.junit.jupiter.api.Test;
+
+import psychopath.Directory;
+import psychopath.File;
+import psychopath.Locator;
+
+class WordTemplateTest {
+
+    private static Directory base = Locator.directory("src/test/resources/officelove/word");
+
+    private static Directory temporary = Locator.temporaryDirectory();
+
+    @Test
+    void cache() {
+        assert WordTemplate.of(base.file("variable.docx")) == WordTemplate.of(base.file("variable.docx"));
+        assert WordTemplate.of(base.file("variable.docx")) != WordTemplate.of(base.file("condition.docx"));
+    }
+
+    @Test
+    void url() throws Exception {
+        File file = base.file("variable.docx");
+        WordTemplate template = WordTemplate.of(file.asJavaFile().toURI().toURL());
+        assert template == WordTemplate.of(file.asJavaFile().toURI().toURL());
+        assert template.create().paragraphWith("{publicField}") != null;
+    }
+
+    @Test
+    void evict() throws Exception {
+        WordTemplate first = WordTemplate.of(document("first"));
+        assert first == WordTemplate.of(document("first"));
+
+        for (int i = 0; i < WordTemplate.LIMIT; i++) {
+            WordTemplate.of(document("other" + i));
+        }
+        assert first != WordTemplate.of(document("first"));
+    }
+
+    @Test
+    void compileConcurrently() throws Exception {
+        File file = document("concurrent");
+        List<Future<WordTemplate>> futures = new ArrayList();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 16; i++) {
+                File other = document("concurrent" + i);
+                futures.add(executor.submit(() -> WordTemplate.of(file)));
+                futures.add(executor.submit(() -> WordTemplate.of(other)));
+            }
+        }
+
+        WordTemplate template = WordTemplate.of(file);
+        for (int i = 0; i < futures.size(); i += 2) {
+            assert futures.get(i).get() == template;
+            assert futures.get(i + 1).get() != template;
+        }
+    }
+
+    @Test
+    void independent() {
+        Word one = new Word(base.file("variable.docx"));
+        Word other = new Word(base.file("variable.docx"));
+        assert one.docment() != other.docment();
+
+        one.evaluate(new Field());
+        assert one.paragraphWith("value") != null;
+        assert other.paragraphWith("value") == null;
+    }
+
+    @Test
+    void dynamic() {
+        WordTemplate template = WordTemplate.of(base.file("variable.docx"));
+        assert template.dynamic(0);
+        assert template.dynamic(1);
+
+        assert WordTemplate.of(base.file("condition.docx")).dynamic(0);
+    }
+
+    @Test
+    void modified() {
+        Word word = new Word(base.file("variable.docx"));
+        XWPFParagraph added = word.docment().createParagraph();
+        added.createRun().setText("{publicField}");
+
+        word.evaluate(new Field());
+        assert added.getText().equals("value");
+    }
+
+    @Test
+    void concurrent() throws Exception {
+        WordTemplate template = WordTemplate.of(base.file("variable.docx"));
+        List<Future<Word>> futures = new ArrayList();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 32; i++) {
+                Field field = new Field();
+                field.publicField = "<" + i + ">";
+                futures.add(executor.submit(() -> template.evaluate(field)));
+            }
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            Word word = futures.get(i).get();
+            assert word.paragraphWith("<" + i + ">") != null;
+            assert word.paragraphWith("<" + (i + 1) + ">") == null;
+        }
+        assert template.create().paragraphWith("<") == null;
+    }
+
+    @Test
+    void normalize() throws Exception {
+        File file = Locator.temporaryFile("split.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream output = file.newOutputStream()) {
+            XWPFParagraph paragraph = document.createParagraph();
+            paragraph.createRun().setText("Hello {pub");
+            paragraph.createRun().setText("lic");
+            paragraph.createRun().setText("Field} and {inT");
+            paragraph.createRun().setText("able}!");
+            document.write(output);
+        }
+
+        WordTemplate template = WordTemplate.of(file);
+        assert template.normalized(0);
+
+        Word word = new Word(template);
+        XWPFParagraph paragraph = word.docment().getParagraphs().get(0);
+        assert paragraph.getRuns().size() == 3;
+        assert paragraph.getRuns().get(0).getText(0).equals("Hello ");
+        assert paragraph.getRuns().get(1).getText(0).equals("{publicField} and ");
+        assert paragraph.getRuns().get(2).getText(0).equals("{inTable}!");
+
+        word.evaluate(new Field());
+        assert paragraph.getText().equals("Hello value and table value!");
+    }
+
+    /**
+     * Write the simple document.
+     * 
+     * @param name A file name.
+     * @return A document file.
+     */
+    private static File document(String name) throws Exception {
+        File file = temporary.file(name + ".docx");
+        if (file.isAbsent()) {
+            try (XWPFDocument document = new XWPFDocument(); OutputStream output = file.newOutputStream()) {
+                document.createParagraph().createRun().setText(name);
+                document.write(output);
+            }
+        }
+        return file;
+    }
+
+    static class Field {
+
+        public String publicField = "value";
+
+        public String inTable = "table value";
+    }
+}
\ No newline at end of file
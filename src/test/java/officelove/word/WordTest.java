@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2025 The OFFICELOVE Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package officelove.word;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.poi.xwpf.usermodel.XWPFComment;
+import org.apache.poi.xwpf.usermodel.XWPFComments;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import officelove.word.TemplateTest.ListLoop;
+import officelove.word.TemplateTest.Text;
+import psychopath.File;
+import psychopath.Locator;
+
+class WordTest {
+
+    @Test
+    void async() throws Exception {
+        assert Word.async(() -> "done", Runnable::run).get().equals("done");
+    }
+
+    @Test
+    void rejectedAsync() {
+        Thread[] runner = new Thread[1];
+
+        CompletableFuture<String> future = Word.async(() -> {
+            runner[0] = Thread.currentThread();
+            return "done";
+        }, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        assert future.isCompletedExceptionally();
+        // never run on the caller thread
+        assert runner[0] == null;
+    }
+
+    @Test
+    void configureAsync() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Word.configureAsync(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Word.configureAsync(1, 0));
+    }
+
+    @Test
+    void keepExistingFileOnFailedConversion() throws Exception {
+        File output = Locator.temporaryFile("existing.pdf");
+        try (OutputStream stream = output.newOutputStream()) {
+            stream.write("existing".getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        boolean converted;
+        try {
+            new Word(Locator.file("src/test/resources/officelove/word/variable.docx")).save(output);
+            converted = true;
+        } catch (Throwable e) {
+            converted = false;
+        }
+
+        // the failed conversion (e.g. without LibreOffice) never truncates the existing file
+        String text = Files.readString(output.asJavaPath(), StandardCharsets.ISO_8859_1);
+        assert converted ? text.startsWith("%PDF") : text.equals("existing");
+    }
+
+    @Test
+    void ifFalse() {
+        Template template = new Template();
+        template.block("no", template.paragraph("bodyHidden"));
+        template.paragraph("bodyVisible");
+        XWPFTable table = template.table(1);
+        template.block("no", template.paragraph(table.getRow(0).getCell(0), "cellHidden"));
+
+        Word word = template.build().evaluate(new Blocks());
+        assert texts(word.docment().getParagraphs()).equals(List.of("bodyVisible"));
+
+        // the paragraph in cell is cleared but never removed
+        assert texts(cell(word, 0, 0).getParagraphs()).equals(List.of(""));
+    }
+
+    @Test
+    void ifTrueInCell() {
+        Template template = new Template();
+        XWPFTable table = template.table(1);
+        template.block("yes", template.paragraph(table.getRow(0).getCell(0), "{text}"));
+
+        Word word = template.build().evaluate(new Blocks());
+        assert texts(cell(word, 0, 0).getParagraphs()).equals(List.of("value"));
+    }
+
+    @Test
+    void loopInCellKeepLine() {
+        Template template = new Template();
+        XWPFTableCell cell = template.table(1).getRow(0).getCell(0);
+        template.paragraph(cell, "head");
+        template.block("list#keepLine", cell.addParagraph(), "{text}");
+        cell.addParagraph();
+        cell.addParagraph();
+        cell.addParagraph();
+
+        Word word = template.build().evaluate(new ListLoop(new Text("1"), new Text("2"), new Text("3")));
+        // the trailing empty lines are trimmed as many as the inserted lines
+        assert texts(cell(word, 0, 0).getParagraphs()).equals(List.of("head", "1", "2", "3", ""));
+    }
+
+    @Test
+    void tableRowLoop() {
+        Template template = new Template();
+        XWPFTable table = template.table(3);
+        template.paragraph(table.getRow(0).getCell(0), "header");
+        template.block("list", template.paragraph(table.getRow(1).getCell(0), "{text}"));
+        template.paragraph(table.getRow(2).getCell(0), "footer");
+
+        Word word = template.build().evaluate(new ListLoop(new Text("1"), new Text("2")));
+        assert word.docment().getTables().get(0).getNumberOfRows() == 4;
+        assert texts(cell(word, 0, 0).getParagraphs()).equals(List.of("header"));
+        assert texts(cell(word, 1, 0).getParagraphs()).equals(List.of("1"));
+        assert texts(cell(word, 2, 0).getParagraphs()).equals(List.of("2"));
+        assert texts(cell(word, 3, 0).getParagraphs()).equals(List.of("footer"));
+    }
+
+    @Test
+    void tableRowLoopByEmptyList() {
+        Template template = new Template();
+        XWPFTable table = template.table(3);
+        template.paragraph(table.getRow(0).getCell(0), "header");
+        template.block("list", template.paragraph(table.getRow(1).getCell(0), "{text}"));
+        template.paragraph(table.getRow(2).getCell(0), "footer");
+
+        Word word = template.build().evaluate(new ListLoop());
+        assert word.docment().getTables().get(0).getNumberOfRows() == 2;
+        assert texts(cell(word, 0, 0).getParagraphs()).equals(List.of("header"));
+        assert texts(cell(word, 1, 0).getParagraphs()).equals(List.of("footer"));
+    }
+
+    @Test
+    void blocksInSequence() {
+        Template template = new Template();
+        template.paragraph("before");
+        template.block("list", template.paragraph("{text}"));
+        template.block("no", template.paragraph("hidden"));
+        template.block("list", template.paragraph("[{text}]"));
+        template.paragraph("after");
+        XWPFTable table = template.table(1);
+        XWPFTableCell cell = table.getRow(0).getCell(0);
+        template.block("yes", template.paragraph(cell, "{text}"));
+        template.block("list", cell.addParagraph(), "<{text}>");
+
+        Word word = template.build().evaluate(new ListLoop(new Text("1"), new Text("2")), new Blocks());
+        assert texts(word.docment().getParagraphs()).equals(List.of("before", "1", "2", "[1]", "[2]", "after"));
+        assert texts(cell(word, 0, 0).getParagraphs()).equals(List.of("value", "<1>", "<2>"));
+    }
+
+    /**
+     * Collect texts of the paragraphs.
+     * 
+     * @param paragraphs
+     * @return
+     */
+    private static List<String> texts(List<XWPFParagraph> paragraphs) {
+        return paragraphs.stream().map(XWPFParagraph::getText).toList();
+    }
+
+    /**
+     * Find the cell of the first table.
+     * 
+     * @param word
+     * @param row
+     * @param column
+     * @return
+     */
+    private static XWPFTableCell cell(Word word, int row, int column) {
+        return word.docment().getTables().get(0).getRow(row).getCell(column);
+    }
+
+    /**
+     * The model for blocks.
+     */
+    public static class Blocks {
+
+        public boolean yes = true;
+
+        public boolean no = false;
+
+        public String text = "value";
+    }
+
+    /**
+     * Template builder which writes the block directive in comment.
+     */
+    private static class Template {
+
+        /** The building document. */
+        private final XWPFDocument document = new XWPFDocument();
+
+        /** The comments. */
+        private final XWPFComments comments = document.createComments();
+
+        /** The comment identifier. */
+        private int id;
+
+        /**
+         * Add paragraph to body.
+         * 
+         * @param text
+         * @return
+         */
+        private XWPFParagraph paragraph(String text) {
+            return write(document.createParagraph(), text);
+        }
+
+        /**
+         * Write text to the first empty paragraph in cell or add new paragraph.
+         * 
+         * @param cell
+         * @param text
+         * @return
+         */
+        private XWPFParagraph paragraph(XWPFTableCell cell, String text) {
+            List<XWPFParagraph> paragraphs = cell.getParagraphs();
+            XWPFParagraph last = paragraphs.get(paragraphs.size() - 1);
+
+            return write(last.getRuns().isEmpty() ? last : cell.addParagraph(), text);
+        }
+
+        /**
+         * Add table which has one column.
+         * 
+         * @param rows
+         * @return
+         */
+        private XWPFTable table(int rows) {
+            return document.createTable(rows, 1);
+        }
+
+        /**
+         * Mark the paragraph as the block.
+         * 
+         * @param directive
+         * @param paragraph
+         */
+        private void block(String directive, XWPFParagraph paragraph) {
+            BigInteger id = BigInteger.valueOf(this.id++);
+            XWPFComment comment = comments.createComment(id);
+            comment.createParagraph().createRun().setText(directive);
+
+            paragraph.getCTP().addNewCommentRangeStart().setId(id);
+            paragraph.getCTP().addNewCommentRangeEnd().setId(id);
+        }
+
+        /**
+         * Mark the paragraph as the block with text.
+         * 
+         * @param directive
+         * @param paragraph
+         * @param text
+         */
+        private void block(String directive, XWPFParagraph paragraph, String text) {
+            block(directive, write(paragraph, text));
+        }
+
+        /**
+         * Write text.
+         * 
+         * @param paragraph
+         * @param text
+         * @return
+         */
+        private XWPFParagraph write(XWPFParagraph paragraph, String text) {
+            paragraph.createRun().setText(text);
+            return paragraph;
+        }
+
+        /**
+         * Save as template file.
+         * 
+         * @return
+         */
+        private Word build() {
+            File file = Locator.temporaryFile("template.docx");
+            try (OutputStream stream = file.newOutputStream()) {
+                document.write(stream);
+            } catch (Exception e) {
+                throw I.quiet(e);
+            }
+            return new Word(file);
+        }
+    }
+}
\ No newline at end of file